@@ -7,8 +7,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/about")
@@ -23,8 +25,15 @@ public class AboutController {
     }
 
     @GetMapping
-    public ResponseEntity<List<AboutResponse>> getAll() {
-        return ResponseEntity.ok(aboutService.getAll());
+    public ResponseEntity<List<AboutResponse>> getAll(WebRequest request) {
+        List<AboutResponse> all = aboutService.getAll();
+        Object[] parts = all.stream()
+                .flatMap(a -> Stream.of(a.getId(), a.getContent(), a.getFounderName(), a.getFounderQuote()))
+                .toArray();
+        if (request.checkNotModified(ConditionalGet.hashEtag("about", parts))) {
+            return null;
+        }
+        return ResponseEntity.ok(all);
     }
 
     @PutMapping("/{id}")
@@ -40,10 +49,15 @@ public class AboutController {
     }
 
     @GetMapping("/latest")
-    public ResponseEntity<AboutResponse> getLatest() {
+    public ResponseEntity<AboutResponse> getLatest(WebRequest request) {
         AboutResponse latest = aboutService.getLatest();
         if (latest == null)
             return ResponseEntity.noContent().build();
+        String etag = ConditionalGet.hashEtag("about-latest",
+                latest.getId(), latest.getContent(), latest.getFounderName(), latest.getFounderQuote());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return ResponseEntity.ok(latest);
     }
 }
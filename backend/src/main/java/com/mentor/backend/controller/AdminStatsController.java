@@ -0,0 +1,101 @@
+package com.mentor.backend.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mentor.backend.filter.FirebaseTokenVerifier;
+import com.mentor.backend.filter.RateLimiter;
+import com.mentor.backend.service.BlogCache;
+import com.mentor.backend.service.BlogPayloadCache;
+import com.mentor.backend.service.CloudinaryService;
+import com.mentor.backend.service.EmailOutboxService;
+import com.mentor.backend.service.EmailService;
+import com.mentor.backend.service.ImageNormalizer;
+import com.mentor.backend.service.OtpPurgeJob;
+import com.mentor.backend.service.PasswordHashingService;
+import com.mentor.backend.service.UserCache;
+
+import lombok.RequiredArgsConstructor;
+
+// Admin-only runtime statistics (cache hit ratios, queue depths, ...)
+@RestController
+@RequestMapping("/api/admin/stats")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminStatsController {
+
+    private final BlogCache blogCache;
+    private final BlogPayloadCache blogPayloadCache;
+    private final UserCache userCache;
+    private final PasswordHashingService passwordHashingService;
+    private final FirebaseTokenVerifier firebaseTokenVerifier;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailService emailService;
+    private final RateLimiter rateLimiter;
+    private final CloudinaryService cloudinaryService;
+    private final ImageNormalizer imageNormalizer;
+    // Absent when OTPs are kept in memory
+    private final ObjectProvider<OtpPurgeJob> otpPurgeJob;
+
+    @GetMapping("/blog-cache")
+    public ResponseEntity<Map<String, Object>> blogCache() {
+        return ResponseEntity.ok(blogCache.stats());
+    }
+
+    @GetMapping("/blog-payload-cache")
+    public ResponseEntity<Map<String, Object>> blogPayloadCache() {
+        return ResponseEntity.ok(blogPayloadCache.stats());
+    }
+
+    @GetMapping("/user-cache")
+    public ResponseEntity<Map<String, Object>> userCache() {
+        return ResponseEntity.ok(userCache.stats());
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> passwordHashing() {
+        return ResponseEntity.ok(passwordHashingService.stats());
+    }
+
+    @GetMapping("/firebase-token-cache")
+    public ResponseEntity<Map<String, Object>> firebaseTokenCache() {
+        return ResponseEntity.ok(firebaseTokenVerifier.stats());
+    }
+
+    @GetMapping("/email-outbox")
+    public ResponseEntity<Map<String, Object>> emailOutbox() {
+        return ResponseEntity.ok(emailOutboxService.stats());
+    }
+
+    @GetMapping("/email")
+    public ResponseEntity<Map<String, Object>> email() {
+        return ResponseEntity.ok(emailService.stats());
+    }
+
+    @GetMapping("/otp-purge")
+    public ResponseEntity<Map<String, Object>> otpPurge() {
+        OtpPurgeJob job = otpPurgeJob.getIfAvailable();
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job.stats());
+    }
+
+    @GetMapping("/rate-limit")
+    public ResponseEntity<Map<String, Object>> rateLimit() {
+        return ResponseEntity.ok(rateLimiter.stats());
+    }
+
+    @GetMapping("/media-uploads")
+    public ResponseEntity<Map<String, Object>> mediaUploads() {
+        return ResponseEntity.ok(cloudinaryService.stats());
+    }
+
+    @GetMapping("/image-normalizer")
+    public ResponseEntity<Map<String, Object>> imageNormalizer() {
+        return ResponseEntity.ok(imageNormalizer.stats());
+    }
+}
@@ -1,10 +1,11 @@
 package com.mentor.backend.controller;
 
 import java.io.IOException;
-import java.util.List;
+import java.net.URI;
 
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,12 +14,20 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.mentor.backend.dto.AnnouncementRequest;
 import com.mentor.backend.dto.AnnouncementResponse;
+import com.mentor.backend.dto.AsyncUploadResponse;
+import com.mentor.backend.dto.NotificationJobResponse;
+import com.mentor.backend.entity.ImageMeta;
+import com.mentor.backend.entity.UploadJob;
+import com.mentor.backend.repository.ContentVersion;
 import com.mentor.backend.service.AnnouncementService;
 import com.mentor.backend.service.CloudinaryService;
+import com.mentor.backend.service.UploadService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,51 +38,103 @@ public class AnnouncementController {
 
     private final AnnouncementService announcementService;
     private final CloudinaryService cloudinaryService;
+    private final UploadService uploadService;
 
     @GetMapping
-    public ResponseEntity<List<AnnouncementResponse>> getAll() {
-        return ResponseEntity.ok(announcementService.getAll());
+    public ResponseEntity<StreamingResponseBody> getAll(WebRequest request) {
+        ContentVersion version = announcementService.getContentVersion();
+        if (ConditionalGet.notModified(request, ConditionalGet.etag("announcements", version), version.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(announcementService.streamAll());
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<AnnouncementResponse> create(
+    public ResponseEntity<?> create(
             @RequestParam String title,
             @RequestParam String description,
             @RequestParam(required = false) String content, // <-- add this line
             @RequestParam("image") MultipartFile imageFile,
             @RequestParam String date,
-            @RequestParam String time) throws IOException {
-        String imageUrl = cloudinaryService.uploadFile(imageFile);
+            @RequestParam String time,
+            @RequestParam(defaultValue = "false") boolean notifyUsers,
+            @RequestParam(defaultValue = "false") boolean async) throws IOException {
+        CloudinaryService.UploadedMedia media = async ? null : cloudinaryService.uploadMedia(imageFile);
         AnnouncementRequest request = new AnnouncementRequest();
         request.setTitle(title);
         request.setDescription(description);
         request.setContent(content); // <-- add this
-        request.setImageUrl(imageUrl);
+        ImageMeta imageMeta = null;
+        if (media != null) {
+            request.setImageUrl(media.url());
+            imageMeta = media.imageMeta();
+        }
         request.setDate(date);
         request.setTime(time);
-        return ResponseEntity.ok(announcementService.create(request));
+        request.setNotifyUsers(notifyUsers);
+        if (async) {
+            request.setImagePending(true);
+            var accepted = uploadService.submit(imageFile, UploadJob.ANNOUNCEMENT,
+                    () -> announcementService.create(request, null), AnnouncementResponse::getId);
+            return accepted(accepted);
+        }
+        return ResponseEntity.ok(announcementService.create(request, imageMeta));
+    }
+
+    // Fan-out runs in the background; poll the GET below for progress
+    @PostMapping("/{id}/notify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NotificationJobResponse> notifyUsers(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(announcementService.notifyUsers(id));
+    }
+
+    @GetMapping("/{id}/notification")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NotificationJobResponse> notificationStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(announcementService.getNotificationJob(id));
     }
+
     @PutMapping("/{id}")
-    public ResponseEntity<AnnouncementResponse> update(
+    public ResponseEntity<?> update(
             @PathVariable Long id,
             @RequestParam String title,
             @RequestParam String description,
             @RequestParam(required = false) String content,
             @RequestParam(value = "image", required = false) MultipartFile imageFile,
             @RequestParam String date,
-            @RequestParam String time) throws IOException {
-        String imageUrl = null;
-        if (imageFile != null && !imageFile.isEmpty()) {
-            imageUrl = cloudinaryService.uploadFile(imageFile);
+            @RequestParam String time,
+            @RequestParam(defaultValue = "false") boolean async) throws IOException {
+        boolean hasImage = imageFile != null && !imageFile.isEmpty();
+        CloudinaryService.UploadedMedia media = null;
+        if (hasImage && !async) {
+            media = cloudinaryService.uploadMedia(imageFile);
         }
         AnnouncementRequest request = new AnnouncementRequest();
         request.setTitle(title);
         request.setDescription(description);
         request.setContent(content);
-        request.setImageUrl(imageUrl);
+        ImageMeta imageMeta = null;
+        if (media != null) {
+            request.setImageUrl(media.url());
+            imageMeta = media.imageMeta();
+        }
         request.setDate(date);
         request.setTime(time);
-        return ResponseEntity.ok(announcementService.update(id, request));
+        if (hasImage && async) {
+            var accepted = uploadService.submit(imageFile, UploadJob.ANNOUNCEMENT,
+                    () -> announcementService.update(id, request, null), AnnouncementResponse::getId);
+            return accepted(accepted);
+        }
+        return ResponseEntity.ok(announcementService.update(id, request, imageMeta));
+    }
+
+    private static ResponseEntity<AsyncUploadResponse<AnnouncementResponse>> accepted(
+            UploadService.Accepted<AnnouncementResponse> accepted) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/uploads/" + accepted.job().getId()))
+                .body(new AsyncUploadResponse<>(accepted.entity(), accepted.job()));
     }
 
     @DeleteMapping("/{id}")
@@ -1,8 +1,11 @@
 package com.mentor.backend.controller;
 
 import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,13 +18,25 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.mentor.backend.dto.AsyncUploadResponse;
+import com.mentor.backend.dto.BlogPageResponse;
 import com.mentor.backend.dto.BlogRequest;
 import com.mentor.backend.dto.BlogResponse;
+import com.mentor.backend.dto.BlogSearchResult;
+import com.mentor.backend.dto.ImageInfo;
 import com.mentor.backend.entity.Blog;
+import com.mentor.backend.entity.ImageMeta;
+import com.mentor.backend.entity.UploadJob;
+import com.mentor.backend.repository.ContentVersion;
+import com.mentor.backend.service.BlogPayloadCache;
 import com.mentor.backend.service.BlogService;
 import com.mentor.backend.service.CloudinaryService;
+import com.mentor.backend.service.JsonStreamWriter;
+import com.mentor.backend.service.UploadService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,6 +47,9 @@ public class BlogController {
 
     private final BlogService blogService;
     private final CloudinaryService cloudinaryService;
+    private final BlogPayloadCache blogPayloadCache;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final UploadService uploadService;
 
     private BlogResponse mapToDto(Blog blog) {
         return BlogResponse.builder()
@@ -45,44 +63,124 @@ public class BlogController {
                 .createdAt(blog.getCreatedAt())
                 .updatedAt(blog.getUpdatedAt())
                 .imageUrl(blog.getImageUrl())
+                .image(ImageInfo.of(blog.getImageMeta()))
+                .excerpt(blog.getExcerpt())
+                .wordCount(blog.getWordCount())
+                .readingTimeMinutes(blog.getReadingTimeMinutes())
                 .build();
     }
 
-    // Public: List blogs
+    // Serves the cached, pre-serialized body; gzip when the client accepts it
+    private ResponseEntity<byte[]> singleBlog(Blog blog, WebRequest request) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        LocalDateTime lastModified = ConditionalGet.lastModified(blog.getUpdatedAt(), blog.getCreatedAt());
+        // The two encodings are different representations, so they get different strong ETags
+        String etag = ConditionalGet.etag("blog", blog.getId(), lastModified) + (gzip ? "-gz" : "");
+        if (ConditionalGet.notModified(request, etag, lastModified)) {
+            return null;
+        }
+
+        BlogPayloadCache.Payload payload = blogPayloadCache.get(blog, () -> mapToDto(blog));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.identity());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) continue;
+            boolean refused = tokens.length > 1 && tokens[1].trim().matches("q=0(\\.0*)?");
+            return !refused;
+        }
+        return false;
+    }
+
+    // Public: List published blogs (served from the in-memory feed, no DB hit when warm)
     @GetMapping
-    public ResponseEntity<List<BlogResponse>> listAll() {
-        List<Blog> blogs = blogService.getAll();
+    public ResponseEntity<List<BlogResponse>> listAll(WebRequest request) {
+        List<Blog> blogs = blogService.getPublished();
+        long idSum = 0;
+        LocalDateTime lastModified = null;
+        for (Blog blog : blogs) {
+            idSum += blog.getId();
+            LocalDateTime modified = ConditionalGet.lastModified(blog.getUpdatedAt(), blog.getCreatedAt());
+            if (modified != null && (lastModified == null || modified.isAfter(lastModified))) {
+                lastModified = modified;
+            }
+        }
+        if (ConditionalGet.notModified(request, ConditionalGet.etag("blogs", blogs.size(), idSum, lastModified), lastModified)) {
+            return null;
+        }
         return ResponseEntity.ok(blogs.stream().map(this::mapToDto).toList());
     }
 
+    // Admin only: List all blogs including drafts
+    @GetMapping("/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> listAllForAdmin() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonStreamWriter.stream(blogService::streamAll, this::mapToDto));
+    }
+
+    // Public: Paginated summary listing (no content), use nextCursor to fetch the following page
+    @GetMapping("/summaries")
+    public ResponseEntity<BlogPageResponse> listSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        ContentVersion version = blogService.getContentVersion();
+        String etag = ConditionalGet.etag("blog-summaries", version) + "-" + size + "-" + cursor;
+        if (ConditionalGet.notModified(request, etag, version.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok(blogService.getPublishedPage(cursor, size));
+    }
+
+    // Public: Full-text search over published blogs, served from the in-memory index
+    @GetMapping("/search")
+    public ResponseEntity<List<BlogSearchResult>> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(blogService.search(query, limit));
+    }
+
     // Public: Get blog by id
     @GetMapping("/{id}")
-    public ResponseEntity<BlogResponse> getById(@PathVariable Long id) {
-        Blog blog = blogService.getById(id);
-        return ResponseEntity.ok(mapToDto(blog));
+    public ResponseEntity<byte[]> getById(@PathVariable Long id, WebRequest request) {
+        // Drafts are only visible to admins
+        return singleBlog(blogService.getPublishedById(id, request.isUserInRole("ADMIN")), request);
     }
 
     // Public: Get blog by slug
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<BlogResponse> getBySlug(@PathVariable String slug) {
-        Blog blog = blogService.getBySlug(slug);
-        return ResponseEntity.ok(mapToDto(blog));
+    public ResponseEntity<byte[]> getBySlug(@PathVariable String slug, WebRequest request) {
+        return singleBlog(blogService.getPublishedBySlug(slug, request.isUserInRole("ADMIN")), request);
     }
 
     // Admin only: Create blog with image upload
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BlogResponse> createBlog(
+    public ResponseEntity<?> createBlog(
         @RequestParam String title,
         @RequestParam(required = false) String slug,
         @RequestParam String content,
         @RequestParam(required = false) String author,
         @RequestParam boolean published,
-        @RequestParam(required = false) MultipartFile image
+        @RequestParam(required = false) MultipartFile image,
+        @RequestParam(defaultValue = "false") boolean async
     ) throws IOException {
-        String imageUrl = null;
-        if (image != null && !image.isEmpty()) {
-            imageUrl = cloudinaryService.uploadFile(image);
+        boolean hasImage = image != null && !image.isEmpty();
+        CloudinaryService.UploadedMedia media = null;
+        if (hasImage && !async) {
+            media = cloudinaryService.uploadMedia(image);
         }
 
         BlogRequest req = new BlogRequest();
@@ -91,27 +189,39 @@ public class BlogController {
         req.setContent(content);
         req.setAuthor(author);
         req.setPublished(published);
-        req.setImageUrl(imageUrl);
+        ImageMeta imageMeta = null;
+        if (media != null) {
+            req.setImageUrl(media.url());
+            imageMeta = media.imageMeta();
+        }
 
-        Blog blog = blogService.create(req);
+        if (hasImage && async) {
+            req.setImagePending(true);
+            var accepted = uploadService.submit(image, UploadJob.BLOG, () -> blogService.create(req, null), Blog::getId);
+            return accepted(mapToDto(accepted.entity()), accepted);
+        }
+
+        Blog blog = blogService.create(req, imageMeta);
         return new ResponseEntity<>(mapToDto(blog), HttpStatus.CREATED);
     }
 
     // Admin only: Update blog (with optional image upload)
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BlogResponse> updateBlog(
+    public ResponseEntity<?> updateBlog(
             @PathVariable Long id,
             @RequestParam String title,
             @RequestParam(required = false) String slug,
             @RequestParam String content,
             @RequestParam(required = false) String author,
             @RequestParam boolean published,
-            @RequestParam(required = false) MultipartFile image
+            @RequestParam(required = false) MultipartFile image,
+            @RequestParam(defaultValue = "false") boolean async
     ) throws IOException {
-        String imageUrl = null;
-        if (image != null && !image.isEmpty()) {
-            imageUrl = cloudinaryService.uploadFile(image);
+        boolean hasImage = image != null && !image.isEmpty();
+        CloudinaryService.UploadedMedia media = null;
+        if (hasImage && !async) {
+            media = cloudinaryService.uploadMedia(image);
         }
 
         BlogRequest req = new BlogRequest();
@@ -120,12 +230,28 @@ public class BlogController {
         req.setContent(content);
         req.setAuthor(author);
         req.setPublished(published);
-        req.setImageUrl(imageUrl);
+        ImageMeta imageMeta = null;
+        if (media != null) {
+            req.setImageUrl(media.url());
+            imageMeta = media.imageMeta();
+        }
 
-        Blog blog = blogService.update(id, req);
+        if (hasImage && async) {
+            // The current image stays until the upload completes
+            var accepted = uploadService.submit(image, UploadJob.BLOG, () -> blogService.update(id, req, null), Blog::getId);
+            return accepted(mapToDto(accepted.entity()), accepted);
+        }
+
+        Blog blog = blogService.update(id, req, imageMeta);
         return ResponseEntity.ok(mapToDto(blog));
     }
 
+    private static <T> ResponseEntity<AsyncUploadResponse<T>> accepted(T resource, UploadService.Accepted<?> accepted) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/uploads/" + accepted.job().getId()))
+                .body(new AsyncUploadResponse<>(resource, accepted.job()));
+    }
+
     // Admin only: Delete blog
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
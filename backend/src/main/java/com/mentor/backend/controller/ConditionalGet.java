@@ -0,0 +1,64 @@
+package com.mentor.backend.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+import org.springframework.web.context.request.WebRequest;
+
+import com.mentor.backend.repository.ContentVersion;
+
+/**
+ * ETag / Last-Modified helpers for the public GET endpoints. Controllers call
+ * {@link #notModified} before mapping entities to DTOs; when it returns true the
+ * 304 status and validators are already set and the handler just returns null.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static boolean notModified(WebRequest request, String etag, LocalDateTime lastModified) {
+        if (lastModified == null) {
+            return request.checkNotModified(etag);
+        }
+        return request.checkNotModified(etag, toEpochMillis(lastModified));
+    }
+
+    static String etag(String prefix, ContentVersion version) {
+        return etag(prefix, version.getCount(), version.getIdSum(), version.getLastModified());
+    }
+
+    static String etag(String prefix, long count, long idSum, LocalDateTime lastModified) {
+        return prefix + "-" + count + "-" + idSum + "-" + (lastModified == null ? 0 : toEpochMillis(lastModified));
+    }
+
+    static String etag(String prefix, Long id, LocalDateTime lastModified) {
+        return prefix + "-" + id + "-" + (lastModified == null ? 0 : toEpochMillis(lastModified));
+    }
+
+    // For content without timestamps (About): hash of the fields that end up in the body
+    static String hashEtag(String prefix, Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return prefix + "-" + HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static LocalDateTime lastModified(LocalDateTime updatedAt, LocalDateTime createdAt) {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,39 @@
+package com.mentor.backend.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.mentor.backend.service.FeedService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+public class FeedController {
+
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+
+    private final FeedService feedService;
+
+    // Public: RSS 2.0 feed of the latest published blogs
+    @GetMapping("/api/blogs/feed.xml")
+    public ResponseEntity<byte[]> rssFeed(WebRequest request) {
+        return xml(feedService.getRssFeed(), RSS, request);
+    }
+
+    // Public: sitemap of the blog and gallery pages
+    @GetMapping("/api/sitemap.xml")
+    public ResponseEntity<byte[]> sitemap(WebRequest request) {
+        return xml(feedService.getSitemap(), MediaType.APPLICATION_XML, request);
+    }
+
+    private ResponseEntity<byte[]> xml(FeedService.Document document, MediaType type, WebRequest request) {
+        if (request.checkNotModified(document.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().contentType(type).body(document.body());
+    }
+}
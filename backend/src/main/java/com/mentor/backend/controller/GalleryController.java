@@ -1,18 +1,25 @@
 package com.mentor.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mentor.backend.dto.AsyncUploadResponse;
 import com.mentor.backend.dto.GalleryRequest;
 import com.mentor.backend.dto.GalleryResponse;
+import com.mentor.backend.dto.ImageInfo;
 import com.mentor.backend.entity.Gallery;
+import com.mentor.backend.entity.UploadJob;
+import com.mentor.backend.repository.ContentVersion;
 import com.mentor.backend.service.CloudinaryService;
 import com.mentor.backend.service.GalleryService;
+import com.mentor.backend.service.UploadService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,9 +31,14 @@ public class GalleryController {
 
     private final GalleryService galleryService;
     private final CloudinaryService cloudinaryService;
+    private final UploadService uploadService;
 
     @GetMapping
-    public ResponseEntity<List<GalleryResponse>> listAll() {
+    public ResponseEntity<List<GalleryResponse>> listAll(WebRequest request) {
+        ContentVersion version = galleryService.getContentVersion();
+        if (ConditionalGet.notModified(request, ConditionalGet.etag("gallery", version), version.getLastModified())) {
+            return null;
+        }
         List<GalleryResponse> responses = galleryService.getAll().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -34,19 +46,29 @@ public class GalleryController {
     }
 
     @PostMapping(path = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<GalleryResponse> upload(
+    public ResponseEntity<?> upload(
             @RequestPart("meta") String metaJson,
-            @RequestPart("file") MultipartFile file) throws IOException {
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean async) throws IOException {
 
         // Parse JSON metadata
         ObjectMapper mapper = new ObjectMapper();
         GalleryRequest meta = mapper.readValue(metaJson, GalleryRequest.class);
 
+        if (async) {
+            // Saved without an image; the upload job fills it in
+            var accepted = uploadService.submit(file, UploadJob.GALLERY,
+                    () -> galleryService.create(meta, null, null), Gallery::getId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/uploads/" + accepted.job().getId()))
+                    .body(new AsyncUploadResponse<>(mapToResponse(accepted.entity()), accepted.job()));
+        }
+
         // Upload to Cloudinary
-        String imageUrl = cloudinaryService.uploadFile(file);
+        CloudinaryService.UploadedMedia media = cloudinaryService.uploadMedia(file);
 
         // Save in DB
-        Gallery gallery = galleryService.create(meta, imageUrl);
+        Gallery gallery = galleryService.create(meta, media.url(), media.imageMeta());
 
         return ResponseEntity.ok(mapToResponse(gallery));
     }
@@ -68,6 +90,7 @@ public class GalleryController {
                 .createdAt(gallery.getCreatedAt())
                 .updatedAt(gallery.getUpdatedAt())
                 .imageUrl(gallery.getFilename()) // now stores Cloudinary URL
+                .image(ImageInfo.of(gallery.getImageMeta()))
                 .build();
     }
 }
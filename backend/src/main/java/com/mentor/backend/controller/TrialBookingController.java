@@ -6,11 +6,11 @@ import com.mentor.backend.service.TrialBookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/trials")
@@ -29,7 +29,9 @@ public class TrialBookingController {
     // Admin-only: View all bookings
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<TrialBookingResponse>> getAllBookings() {
-        return ResponseEntity.ok(trialBookingService.getAllBookings());
+    public ResponseEntity<StreamingResponseBody> getAllBookings() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(trialBookingService.streamAllBookings());
     }
 }
@@ -0,0 +1,44 @@
+package com.mentor.backend.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mentor.backend.dto.UploadJobResponse;
+import com.mentor.backend.entity.UploadJob;
+import com.mentor.backend.service.UploadService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class UploadController {
+
+    private final UploadService uploadService;
+
+    // Status of an async upload started with ?async=true; url is set once it is DONE
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadJobResponse> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(uploadService.getJob(id));
+    }
+
+    // Defaults to the failed ones, whose targets are still hidden waiting for an image
+    @GetMapping
+    public ResponseEntity<List<UploadJobResponse>> listJobs(@RequestParam(defaultValue = UploadJob.FAILED) String status) {
+        return ResponseEntity.ok(uploadService.getJobs(status));
+    }
+
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<UploadJobResponse> retry(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(uploadService.retry(id));
+    }
+}
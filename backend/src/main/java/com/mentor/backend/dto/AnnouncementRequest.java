@@ -1,5 +1,7 @@
 package com.mentor.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 @Data
@@ -14,9 +16,15 @@ public class AnnouncementRequest {
 
     private String imageUrl;
 
+    @JsonIgnore
+    private boolean imagePending;
+
     @NotBlank(message = "Date is required")
     private String date;
 
     @NotBlank(message = "Time is required")
     private String time;
+
+    // Email all verified users once the announcement is saved
+    private boolean notifyUsers;
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ public class AnnouncementResponse {
     private String description;
     private String content; // <-- add this
     private String imageUrl;
+    private ImageInfo image;
     private String date;
     private String time;
     private LocalDateTime createdAt;  // Add these two
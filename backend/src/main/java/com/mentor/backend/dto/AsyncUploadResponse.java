@@ -0,0 +1,12 @@
+package com.mentor.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// 202 body for async uploads: the saved resource (image pending) and the job to poll
+@Data
+@AllArgsConstructor
+public class AsyncUploadResponse<T> {
+    private T resource;
+    private UploadJobResponse upload;
+}
@@ -0,0 +1,13 @@
+package com.mentor.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BlogPageResponse {
+    private List<BlogSummaryResponse> items;
+    private String nextCursor; // null when there are no more pages
+}
@@ -1,5 +1,7 @@
 package com.mentor.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -28,4 +30,8 @@ public class BlogRequest {
 
     private String imageUrl; // URL string for frontend => backend
 
+    // The image arrives later through an async upload job
+    @JsonIgnore
+    private boolean imagePending;
+
 }
@@ -18,4 +18,8 @@ public class BlogResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String imageUrl;
+    private ImageInfo image;
+    private String excerpt;
+    private Integer wordCount;
+    private Integer readingTimeMinutes;
 }
@@ -0,0 +1,19 @@
+package com.mentor.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BlogSearchResult {
+    private Long id;
+    private String title;
+    private String slug;
+    private String author;
+    private String imageUrl;
+    private String excerpt;
+    private LocalDateTime publishedAt;
+    private double score;
+}
@@ -0,0 +1,20 @@
+package com.mentor.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BlogSummaryResponse {
+    private Long id;
+    private String title;
+    private String slug;
+    private String author;
+    private String imageUrl;
+    private ImageInfo image;
+    private String excerpt;
+    private Integer readingTimeMinutes;
+    private LocalDateTime publishedAt;
+}
@@ -17,4 +17,5 @@ public class GalleryResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String imageUrl; // URL to fetch the image
+    private ImageInfo image;
 }
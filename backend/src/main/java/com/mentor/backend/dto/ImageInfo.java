@@ -0,0 +1,28 @@
+package com.mentor.backend.dto;
+
+import com.mentor.backend.entity.ImageMeta;
+
+import lombok.Builder;
+import lombok.Data;
+
+// Layout hints computed at upload; responses carry null for items without an analyzed image
+@Data
+@Builder
+public class ImageInfo {
+    private Integer width;
+    private Integer height;
+    private String color;
+    private String placeholder;
+    private String srcset;
+
+    public static ImageInfo of(ImageMeta meta) {
+        if (meta == null) return null;
+        return ImageInfo.builder()
+                .width(meta.getWidth())
+                .height(meta.getHeight())
+                .color(meta.getDominantColor())
+                .placeholder(meta.getPlaceholder())
+                .srcset(meta.getSrcset())
+                .build();
+    }
+}
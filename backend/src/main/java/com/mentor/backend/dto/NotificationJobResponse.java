@@ -0,0 +1,20 @@
+package com.mentor.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class NotificationJobResponse {
+    private Long id;
+    private Long announcementId;
+    private String status;
+    private int sentCount;
+    private long lastUserId;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
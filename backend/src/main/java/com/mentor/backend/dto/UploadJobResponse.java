@@ -0,0 +1,22 @@
+package com.mentor.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UploadJobResponse {
+    private Long id;
+    private String status;
+    private String targetType;
+    private Long targetId;
+    private String originalFilename;
+    private long sizeBytes;
+    private String url;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -37,6 +38,14 @@ public class Announcement {
     private String content;  // <-- add this field
 
     private String imageUrl;
+
+    @Embedded
+    private ImageMeta imageMeta;
+
+    // Hidden from the public list until its async image upload completes
+    @Column(name = "image_pending", nullable = false)
+    private boolean imagePending;
+
     private LocalDate date;
     private LocalTime time;
     private LocalDateTime createdAt;
@@ -3,10 +3,12 @@ package com.mentor.backend.entity;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -17,7 +19,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs", indexes = {
+        // Serves the public feed: WHERE published = true ORDER BY published_at DESC
+        @Index(name = "idx_blogs_published_published_at", columnList = "published, published_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -50,6 +55,21 @@ public class Blog {
 
     private String imageUrl; // Add this field for image URL
 
+    @Embedded
+    private ImageMeta imageMeta;
+
+    // Set while an async upload is still supplying the image; public reads skip the post until it lands
+    @Column(name = "image_pending", nullable = false)
+    private boolean imagePending;
+
+    // Derived from content on every create/update so listings never need the body
+    @Column(length = 512)
+    private String excerpt;
+
+    private Integer wordCount;
+
+    private Integer readingTimeMinutes;
+
     @PrePersist
     public void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -25,6 +25,12 @@ public class Gallery {
 
     private String filename; // stored in uploads folder
 
+    @Embedded
+    private ImageMeta imageMeta;
+
+    @Column(name = "image_pending", nullable = false)
+    private boolean imagePending; // no image yet, not shown publicly
+
     private String tag;
     private String layoutType;
 
@@ -0,0 +1,38 @@
+package com.mentor.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Computed once at upload so listings can reserve space, paint a placeholder and pick a size
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageMeta {
+
+    // Intrinsic size as displayed (EXIF orientation applied)
+    @Column(name = "image_width")
+    private Integer width;
+
+    @Column(name = "image_height")
+    private Integer height;
+
+    // "#rrggbb"
+    @Column(name = "image_dominant_color", length = 7)
+    private String dominantColor;
+
+    // Tiny base64 JPEG data URI (LQIP), under 1 KB
+    @Column(name = "image_placeholder", columnDefinition = "TEXT")
+    private String placeholder;
+
+    // "url 320w, url 640w, ..." of width-limited Cloudinary variants
+    @Column(name = "image_srcset", columnDefinition = "TEXT")
+    private String srcset;
+}
@@ -0,0 +1,42 @@
+package com.mentor.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// An uploaded file by content: identical bytes map to the same remote asset
+@Entity
+@Table(name = "media_assets", indexes = {
+        @Index(name = "idx_media_assets_hash", columnList = "content_hash", unique = true)
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class MediaAsset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hex SHA-256 of the original upload
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 1024)
+    private String url;
+
+    private long sizeBytes;
+
+    // Image facts of the uploaded version, so a dedup hit needs no re-analysis
+    private Integer width;
+
+    private Integer height;
+
+    @Column(length = 7)
+    private String dominantColor;
+
+    @Column(columnDefinition = "TEXT")
+    private String placeholder;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,52 @@
+package com.mentor.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Progress of one announcement's email fan-out; lastUserId is the keyset cursor it resumes from
+@Entity
+@Table(name = "notification_jobs", indexes = {
+        @Index(name = "idx_notification_jobs_announcement", columnList = "announcement_id", unique = true)
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class NotificationJob {
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "announcement_id", nullable = false)
+    private Long announcementId;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(nullable = false)
+    private long lastUserId;
+
+    @Column(nullable = false)
+    private int sentCount;
+
+    // Lease held by the node running this job
+    @Column(length = 64)
+    private String lockedBy;
+
+    private LocalDateTime lockedUntil;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+}
@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "otp_verifications", indexes = {
-        @Index(name = "idx_otp_email", columnList = "email", unique = true)
+        @Index(name = "idx_otp_email", columnList = "email", unique = true),
+        @Index(name = "idx_otp_expiry_time", columnList = "expiry_time")
 })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class OtpVerification {
@@ -0,0 +1,62 @@
+package com.mentor.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A background media upload and the entity it patches once the provider URL is known
+@Entity
+@Table(name = "upload_jobs", indexes = {
+        @Index(name = "idx_upload_jobs_status", columnList = "status")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class UploadJob {
+
+    public static final String PENDING = "PENDING";
+    public static final String UPLOADING = "UPLOADING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    public static final String BLOG = "BLOG";
+    public static final String ANNOUNCEMENT = "ANNOUNCEMENT";
+    public static final String GALLERY = "GALLERY";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(nullable = false, length = 16)
+    private String targetType;
+
+    @Column(nullable = false)
+    private Long targetId;
+
+    // Local spool file; only the node that wrote it can run the job
+    @Column(length = 1024)
+    private String spoolPath;
+
+    // SHA-256 taken while spooling, so the worker can dedupe without re-reading the file
+    @Column(length = 64)
+    private String contentHash;
+
+    private String originalFilename;
+
+    private long sizeBytes;
+
+    @Column(length = 1024)
+    private String url;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+}
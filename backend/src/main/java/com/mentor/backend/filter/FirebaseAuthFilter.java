@@ -9,9 +9,8 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
 import com.mentor.backend.entity.User;
+import com.mentor.backend.filter.FirebaseTokenVerifier.VerifiedToken;
 import com.mentor.backend.service.UserService;
 
 import jakarta.servlet.FilterChain;
@@ -24,7 +23,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class FirebaseAuthFilter extends OncePerRequestFilter {
 
-    private final FirebaseAuth firebaseAuth;
+    private final FirebaseTokenVerifier tokenVerifier;
     private final UserService userService;
 
     @Override
@@ -38,22 +37,17 @@ public class FirebaseAuthFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String idToken = authHeader.substring(7);
             try {
-                FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
+                // Cached until the token's exp, so only the first request of a session pays for RSA verification
+                VerifiedToken token = tokenVerifier.verify(idToken);
+                String uid = token.uid();
 
-                String email = decodedToken.getEmail();
-                String uid = decodedToken.getUid();
-                String name = decodedToken.getName();
-                Object phoneObj = decodedToken.getClaims().get("phone_number");
-                String phoneNumber = phoneObj != null ? phoneObj.toString() : null;
-                boolean emailVerified = decodedToken.isEmailVerified();
-
-                // Save user if not exists, and fetch from DB
+                // Save user if not exists, and fetch from DB (or the uid cache)
                 User user = userService.saveUserIfNotExists(
                         uid,
-                        email,
-                        name,
-                        phoneNumber,
-                        emailVerified,
+                        token.email(),
+                        token.name(),
+                        token.phoneNumber(),
+                        token.emailVerified(),
                         "GOOGLE"
                 );
 
@@ -0,0 +1,110 @@
+package com.mentor.backend.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+
+/**
+ * Verifies Firebase ID tokens and remembers the result until the token's own
+ * expiry, so a session's repeat requests skip the RSA signature check. Entries
+ * are keyed by a SHA-256 of the token; the raw token is never stored.
+ */
+@Component
+public class FirebaseTokenVerifier {
+
+    public record VerifiedToken(String uid,
+                                String email,
+                                String name,
+                                String phoneNumber,
+                                boolean emailVerified,
+                                long expiresAtMillis) {
+    }
+
+    private final FirebaseAuth firebaseAuth;
+    private final Cache<String, VerifiedToken> verified;
+
+    public FirebaseTokenVerifier(FirebaseAuth firebaseAuth,
+                                 @Value("${app.firebase.tokenCache.maxEntries:10000}") long maxEntries,
+                                 @Value("${app.firebase.tokenCache.maxTtlSeconds:3600}") long maxTtlSeconds) {
+        long maxTtlNanos = Duration.ofSeconds(maxTtlSeconds).toNanos();
+        this.firebaseAuth = firebaseAuth;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remaining = Duration.ofMillis(token.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(remaining, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public VerifiedToken verify(String idToken) throws FirebaseAuthException {
+        String key = hash(idToken);
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) return cached;
+
+        FirebaseToken decoded = firebaseAuth.verifyIdToken(idToken);
+        Map<String, Object> claims = decoded.getClaims();
+        Object phone = claims.get("phone_number");
+        Object exp = claims.get("exp");
+        // verifyIdToken already rejected expired tokens, so exp is in the future here
+        long expiresAt = exp instanceof Number n ? n.longValue() * 1000 : System.currentTimeMillis();
+
+        VerifiedToken token = new VerifiedToken(
+                decoded.getUid(),
+                decoded.getEmail(),
+                decoded.getName(),
+                phone != null ? phone.toString() : null,
+                decoded.isEmailVerified(),
+                expiresAt);
+        verified.put(key, token);
+        return token;
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = verified.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("entries", verified.estimatedSize());
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        return m;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.mentor.backend.filter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token buckets for the public auth endpoints, keyed per route group by client
+ * IP and by email. Each bucket is a single AtomicLong holding its "theoretical
+ * arrival time" (GCRA): a request is allowed if pushing that time forward by
+ * one emission interval keeps it within capacity * interval of now, updated
+ * with one CAS. That is the same admission rule as a token bucket refilling
+ * one token per interval, without locks.
+ *
+ * Buckets expire after being idle for the longest configured period; by then
+ * they are full again, so evicting them loses nothing.
+ */
+@Component
+public class RateLimiter {
+
+    /** Capacity requests per period, refilled evenly. Parsed from "capacity/periodSeconds". */
+    record Limit(int capacity, long emissionNanos) {
+        static Limit parse(String spec) {
+            String[] parts = spec.trim().split("/");
+            int capacity = Integer.parseInt(parts[0].trim());
+            long periodNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(parts[1].trim()));
+            return new Limit(capacity, periodNanos / capacity);
+        }
+
+        long periodNanos() {
+            return emissionNanos * capacity;
+        }
+    }
+
+    static final class Group {
+        final String name;
+        final Limit perIp;
+        final Limit perEmail;
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        Group(String name, String spec) {
+            String[] limits = spec.split(",");
+            this.name = name;
+            this.perIp = Limit.parse(limits[0]);
+            this.perEmail = Limit.parse(limits[1]);
+        }
+    }
+
+    private final Map<String, Group> groupsByPath = new LinkedHashMap<>();
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(@Value("${app.ratelimit.login:20/60,10/300}") String login,
+                       @Value("${app.ratelimit.register:10/600,3/600}") String register,
+                       @Value("${app.ratelimit.otpSend:10/600,5/600}") String otpSend,
+                       @Value("${app.ratelimit.otpVerify:30/600,10/600}") String otpVerify,
+                       @Value("${app.ratelimit.maxKeys:100000}") long maxKeys) {
+        Group loginGroup = new Group("login", login);
+        Group registerGroup = new Group("register", register);
+        Group sendGroup = new Group("otp-send", otpSend);
+        Group verifyGroup = new Group("otp-verify", otpVerify);
+
+        groupsByPath.put("/api/auth/login", loginGroup);
+        groupsByPath.put("/api/auth/register", registerGroup);
+        groupsByPath.put("/api/auth/send-otp", sendGroup);
+        groupsByPath.put("/api/auth/resend-otp", sendGroup);
+        groupsByPath.put("/api/auth/forgot-password", sendGroup);
+        groupsByPath.put("/api/auth/verify-otp", verifyGroup);
+        groupsByPath.put("/api/auth/forgot-password/verify-otp", verifyGroup);
+        groupsByPath.put("/api/auth/reset-password", verifyGroup);
+
+        long idleNanos = groupsByPath.values().stream()
+                .mapToLong(g -> Math.max(g.perIp.periodNanos(), g.perEmail.periodNanos()))
+                .max().orElse(TimeUnit.MINUTES.toNanos(10));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(idleNanos))
+                .build();
+    }
+
+    Group groupFor(String path) {
+        return groupsByPath.get(path);
+    }
+
+    /** Takes one token for the IP; returns 0 when allowed, otherwise nanoseconds until a retry can succeed. */
+    long acquireForIp(Group group, String ip) {
+        return acquire(group.name + "|ip|" + ip, group.perIp);
+    }
+
+    long acquireForEmail(Group group, String email) {
+        return acquire(group.name + "|email|" + email, group.perEmail);
+    }
+
+    private long acquire(String key, Limit limit) {
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long burst = limit.periodNanos();
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long next = base + limit.emissionNanos();
+            long excess = next - now - burst;
+            if (excess > 0) return excess;
+            if (tat.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("buckets", buckets.estimatedSize());
+        groupsByPath.values().stream().distinct().forEach(g -> {
+            Map<String, Object> counts = new LinkedHashMap<>();
+            counts.put("allowed", g.allowed.sum());
+            counts.put("rejected", g.rejected.sum());
+            m.put(g.name, counts);
+        });
+        return m;
+    }
+}
@@ -2,6 +2,21 @@ package com.mentor.backend.repository;
 
 import com.mentor.backend.entity.Announcement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
+
+import java.util.stream.Stream;
 
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
+
+    @Query("SELECT COUNT(a) AS count, COALESCE(SUM(a.id), 0) AS idSum, "
+            + "MAX(COALESCE(a.updatedAt, a.createdAt)) AS lastModified FROM Announcement a")
+    ContentVersion findContentVersion();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    // Public list: announcements still waiting for their image are left out
+    @Query("SELECT a FROM Announcement a WHERE a.imagePending = false ORDER BY a.id")
+    Stream<Announcement> streamVisible();
 }
@@ -1,11 +1,87 @@
 package com.mentor.backend.repository;
 
 import com.mentor.backend.entity.Blog;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BlogRepository extends JpaRepository<Blog, Long> {
     Optional<Blog> findBySlug(String slug);
     boolean existsBySlug(String slug);
+    List<Blog> findByPublishedTrueAndImagePendingFalseOrderByPublishedAtDescIdDesc();
+    List<Blog> findByExcerptIsNull();
+
+    // Bulk update, so @PreUpdate does not touch updated_at; the IS NULL guard makes a concurrent run on another node a no-op
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Blog b SET b.excerpt = :excerpt, b.wordCount = :wordCount, b.readingTimeMinutes = :readingTime
+            WHERE b.id = :id AND b.excerpt IS NULL
+            """)
+    int fillDerivedFields(@Param("id") Long id,
+                          @Param("excerpt") String excerpt,
+                          @Param("wordCount") int wordCount,
+                          @Param("readingTime") int readingTime);
+
+    // Keyset pagination over published posts, newest first. Only summary columns are selected.
+    @Query("""
+            SELECT b.id AS id, b.title AS title, b.slug AS slug, b.author AS author,
+                   b.imageUrl AS imageUrl, b.imageMeta AS imageMeta, b.excerpt AS excerpt,
+                   b.readingTimeMinutes AS readingTimeMinutes,
+                   b.publishedAt AS publishedAt
+            FROM Blog b
+            WHERE b.published = true AND b.imagePending = false AND b.publishedAt IS NOT NULL
+            ORDER BY b.publishedAt DESC, b.id DESC
+            """)
+    List<BlogSummary> findPublishedSummaries(Pageable pageable);
+
+    @Query("""
+            SELECT b.id AS id, b.title AS title, b.slug AS slug, b.author AS author,
+                   b.imageUrl AS imageUrl, b.imageMeta AS imageMeta, b.excerpt AS excerpt,
+                   b.readingTimeMinutes AS readingTimeMinutes,
+                   b.publishedAt AS publishedAt
+            FROM Blog b
+            WHERE b.published = true AND b.imagePending = false AND b.publishedAt IS NOT NULL
+              AND (b.publishedAt < :publishedAt OR (b.publishedAt = :publishedAt AND b.id < :id))
+            ORDER BY b.publishedAt DESC, b.id DESC
+            """)
+    List<BlogSummary> findPublishedSummariesAfter(@Param("publishedAt") LocalDateTime publishedAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    // Forward-only cursors for the RSS feed and sitemap; callers must consume them inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    @Query("""
+            SELECT b.id AS id, b.title AS title, b.slug AS slug, b.author AS author,
+                   b.imageUrl AS imageUrl, b.imageMeta AS imageMeta, b.excerpt AS excerpt,
+                   b.readingTimeMinutes AS readingTimeMinutes,
+                   b.publishedAt AS publishedAt
+            FROM Blog b
+            WHERE b.published = true AND b.imagePending = false AND b.publishedAt IS NOT NULL
+            ORDER BY b.publishedAt DESC, b.id DESC
+            """)
+    Stream<BlogSummary> streamPublishedSummaries();
+
+    // Newest change to anything on the public blog list; null when nothing is published
+    @Query("SELECT MAX(COALESCE(b.updatedAt, b.publishedAt, b.createdAt)) FROM Blog b "
+            + "WHERE b.published = true AND b.imagePending = false")
+    LocalDateTime findLastPublishedChange();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    @Query("SELECT b FROM Blog b ORDER BY b.id")
+    Stream<Blog> streamAll();
+
+    @Query("SELECT COUNT(b) AS count, COALESCE(SUM(b.id), 0) AS idSum, "
+            + "MAX(COALESCE(b.updatedAt, b.createdAt)) AS lastModified FROM Blog b")
+    ContentVersion findContentVersion();
 }
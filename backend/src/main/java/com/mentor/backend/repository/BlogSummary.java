@@ -0,0 +1,18 @@
+package com.mentor.backend.repository;
+
+import java.time.LocalDateTime;
+
+import com.mentor.backend.entity.ImageMeta;
+
+// Closed projection used by the listing queries so the TEXT content column is never selected
+public interface BlogSummary {
+    Long getId();
+    String getTitle();
+    String getSlug();
+    String getAuthor();
+    String getImageUrl();
+    ImageMeta getImageMeta();
+    String getExcerpt();
+    Integer getReadingTimeMinutes();
+    LocalDateTime getPublishedAt();
+}
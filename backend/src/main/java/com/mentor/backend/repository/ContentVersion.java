@@ -0,0 +1,10 @@
+package com.mentor.backend.repository;
+
+import java.time.LocalDateTime;
+
+// Cheap fingerprint of a table: any insert, update or delete changes at least one of these values
+public interface ContentVersion {
+    Long getCount();
+    Long getIdSum();
+    LocalDateTime getLastModified();
+}
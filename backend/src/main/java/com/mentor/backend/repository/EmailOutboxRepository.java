@@ -0,0 +1,43 @@
+package com.mentor.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mentor.backend.entity.EmailOutbox;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Rows locked by another node's claim are skipped rather than waited on
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING'
+              AND next_attempt_at <= :now
+              AND (locked_until IS NULL OR locked_until < :now)
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutbox> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE EmailOutbox e
+            SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt,
+                e.lockedUntil = null, e.lastError = :lastError
+            WHERE e.id = :id
+            """)
+    int markFailed(@Param("id") Long id,
+                   @Param("status") String status,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    long countByStatus(String status);
+}
@@ -2,8 +2,17 @@ package com.mentor.backend.repository;
 
 import com.mentor.backend.entity.Gallery;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface GalleryRepository extends JpaRepository<Gallery, Long> {
+
+    List<Gallery> findByImagePendingFalse();
+
+    @Query("SELECT COUNT(g) AS count, COALESCE(SUM(g.id), 0) AS idSum, "
+            + "MAX(COALESCE(g.updatedAt, g.createdAt)) AS lastModified FROM Gallery g")
+    ContentVersion findContentVersion();
 }
@@ -0,0 +1,11 @@
+package com.mentor.backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.mentor.backend.entity.MediaAsset;
+
+public interface MediaAssetRepository extends JpaRepository<MediaAsset, Long> {
+    Optional<MediaAsset> findByContentHash(String contentHash);
+}
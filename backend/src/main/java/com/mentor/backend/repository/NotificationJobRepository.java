@@ -0,0 +1,81 @@
+package com.mentor.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mentor.backend.entity.NotificationJob;
+
+public interface NotificationJobRepository extends JpaRepository<NotificationJob, Long> {
+
+    Optional<NotificationJob> findByAnnouncementId(Long announcementId);
+
+    // Unfinished jobs nobody holds a live lease on (never started, or the node running them died)
+    @Query("""
+            SELECT j FROM NotificationJob j
+            WHERE j.status IN :statuses AND (j.lockedUntil IS NULL OR j.lockedUntil < :now)
+            """)
+    List<NotificationJob> findResumable(@Param("statuses") Collection<String> statuses,
+                                        @Param("now") LocalDateTime now);
+
+    // Takes or renews the lease; returns 0 when another node holds it
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE NotificationJob j SET j.lockedBy = :owner, j.lockedUntil = :until
+            WHERE j.id = :id AND (j.lockedUntil IS NULL OR j.lockedUntil < :now OR j.lockedBy = :owner)
+            """)
+    int acquireLease(@Param("id") Long id,
+                     @Param("owner") String owner,
+                     @Param("now") LocalDateTime now,
+                     @Param("until") LocalDateTime until);
+
+    // Saves progress and renews the lease in one statement; 0 means the lease was lost to another node
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE NotificationJob j
+            SET j.status = :status, j.lastUserId = :lastUserId, j.sentCount = :sentCount,
+                j.updatedAt = :now, j.lockedUntil = :until
+            WHERE j.id = :id AND j.lockedBy = :owner
+            """)
+    int checkpoint(@Param("id") Long id,
+                   @Param("owner") String owner,
+                   @Param("status") String status,
+                   @Param("lastUserId") long lastUserId,
+                   @Param("sentCount") int sentCount,
+                   @Param("now") LocalDateTime now,
+                   @Param("until") LocalDateTime until);
+
+    // Final transition; like checkpoint, only the lease holder may make it
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE NotificationJob j
+            SET j.status = :status, j.lastError = :error, j.updatedAt = :now, j.completedAt = :completedAt,
+                j.lockedBy = NULL, j.lockedUntil = NULL
+            WHERE j.id = :id AND j.lockedBy = :owner
+            """)
+    int finish(@Param("id") Long id,
+               @Param("owner") String owner,
+               @Param("status") String status,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now,
+               @Param("completedAt") LocalDateTime completedAt);
+
+    // Gives the lease back so another node (or this one after a restart) can resume at once
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE NotificationJob j SET j.lockedBy = NULL, j.lockedUntil = NULL
+            WHERE j.id = :id AND j.lockedBy = :owner
+            """)
+    int releaseLease(@Param("id") Long id, @Param("owner") String owner);
+}
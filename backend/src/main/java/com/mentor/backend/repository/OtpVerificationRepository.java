@@ -2,6 +2,10 @@ package com.mentor.backend.repository;
 
 import com.mentor.backend.entity.OtpVerification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -9,4 +13,44 @@ public interface OtpVerificationRepository extends JpaRepository<OtpVerification
     Optional<OtpVerification> findByEmail(String email);
     long deleteByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Returns the row id when the code was stored; empty while the previous send is inside its cooldown.
+    // Uses the database clock so the cooldown holds across instances.
+    @Query(value = """
+            INSERT INTO otp_verifications (email, otp, expiry_time, last_sent_at)
+            VALUES (:email, :otp, LOCALTIMESTAMP + make_interval(secs => :ttlSeconds), LOCALTIMESTAMP)
+            ON CONFLICT (email) DO UPDATE
+               SET otp = EXCLUDED.otp,
+                   expiry_time = EXCLUDED.expiry_time,
+                   last_sent_at = EXCLUDED.last_sent_at
+             WHERE otp_verifications.last_sent_at IS NULL
+                OR otp_verifications.last_sent_at <= LOCALTIMESTAMP - make_interval(secs => :cooldownSeconds)
+            RETURNING id
+            """, nativeQuery = true)
+    Optional<Long> issueIfCooledDown(@Param("email") String email,
+                                     @Param("otp") String otp,
+                                     @Param("ttlSeconds") long ttlSeconds,
+                                     @Param("cooldownSeconds") long cooldownSeconds);
+
+    // One-time use: matching, unexpired code is removed and reported in the same statement
+    @Query(value = """
+            DELETE FROM otp_verifications
+            WHERE email = :email AND otp = :otp AND expiry_time > LOCALTIMESTAMP
+            RETURNING id
+            """, nativeQuery = true)
+    Optional<Long> consumeIfValid(@Param("email") String email, @Param("otp") String otp);
+
+    // One bounded batch per transaction; rows being issued or verified right now are skipped, not waited on
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM otp_verifications
+            WHERE id IN (
+                SELECT id FROM otp_verifications
+                WHERE expiry_time < LOCALTIMESTAMP - make_interval(secs => :graceSeconds)
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("graceSeconds") long graceSeconds, @Param("limit") int limit);
 }
@@ -1,7 +1,16 @@
 package com.mentor.backend.repository;
 
 import com.mentor.backend.entity.TrialBooking;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
 
 public interface TrialBookingRepository extends JpaRepository<TrialBooking, Long> {
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    @Query("SELECT t FROM TrialBooking t ORDER BY t.id")
+    Stream<TrialBooking> streamAll();
 }
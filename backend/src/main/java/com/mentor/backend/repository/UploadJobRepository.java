@@ -0,0 +1,38 @@
+package com.mentor.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mentor.backend.entity.UploadJob;
+
+public interface UploadJobRepository extends JpaRepository<UploadJob, Long> {
+    List<UploadJob> findByStatusIn(Collection<String> statuses);
+
+    List<UploadJob> findByStatusOrderByIdDesc(String status);
+
+    // Failed jobs whose spool file is still kept for a retry
+    List<UploadJob> findByStatusAndSpoolPathIsNotNullAndUpdatedAtBefore(String status, LocalDateTime before);
+
+    // Compare-and-set against the row as the caller read it; 0 when another request or node moved it first.
+    // Clears the persistence context so a re-read in the same request sees the new status.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE UploadJob j SET j.status = :to, j.error = :error, j.updatedAt = :now
+            WHERE j.id = :id AND j.status = :from
+              AND (j.updatedAt = :seen OR (:seen IS NULL AND j.updatedAt IS NULL))
+            """)
+    int transition(@Param("id") Long id,
+                   @Param("from") String from,
+                   @Param("seen") LocalDateTime seen,
+                   @Param("to") String to,
+                   @Param("error") String error,
+                   @Param("now") LocalDateTime now);
+}
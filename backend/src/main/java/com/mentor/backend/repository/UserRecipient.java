@@ -0,0 +1,8 @@
+package com.mentor.backend.repository;
+
+// Closed projection for bulk email: just enough to address a message
+public interface UserRecipient {
+    Long getId();
+    String getEmail();
+    String getFullName();
+}
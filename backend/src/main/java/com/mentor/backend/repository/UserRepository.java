@@ -1,11 +1,24 @@
 package com.mentor.backend.repository;
 
 import com.mentor.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByFirebaseUid(String firebaseUid);
     Optional<User> findByEmail(String email);
+
+    // Keyset page of verified addresses for bulk notifications
+    @Query("""
+            SELECT u.id AS id, u.email AS email, u.fullName AS fullName
+            FROM User u
+            WHERE u.id > :afterId AND u.emailVerified = true
+            ORDER BY u.id
+            """)
+    List<UserRecipient> findRecipientsAfter(@Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,35 @@
+package com.mentor.backend.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the BCrypt cost for this machine: the highest strength whose hash time
+ * stays under the target, never below {@code minStrength}. Each extra cost
+ * point doubles the work, so one timed hash at the minimum is enough to
+ * extrapolate the rest.
+ */
+@Slf4j
+final class BCryptCalibrator {
+
+    private BCryptCalibrator() {
+    }
+
+    static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration-warmup");
+
+        long start = System.nanoTime();
+        probe.encode("calibration-probe");
+        double baseMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        int strength = minStrength;
+        while (strength < maxStrength && baseMillis * (1L << (strength + 1 - minStrength)) <= targetMillis) {
+            strength++;
+        }
+        log.info("BCrypt calibrated: cost {} took {} ms, using cost {} (target {} ms)",
+                minStrength, String.format("%.1f", baseMillis), strength, targetMillis);
+        return strength;
+    }
+}
@@ -1,11 +1,11 @@
 package com.mentor.backend.security;
 
 
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -18,6 +18,8 @@ public class JwtUtil {
 
     private final Key key;
     private final long jwtExpiration;
+    // Immutable and thread-safe, so built once instead of per call
+    private final JwtParser parser;
 
     public JwtUtil(
             @Value("${jwt.secret}") String secret,
@@ -25,6 +27,9 @@ public class JwtUtil {
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.jwtExpiration = jwtExpiration;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     // Generate token with username & role
@@ -38,33 +43,28 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry once and returns the claims.
+     * Throws a JwtException (e.g. ExpiredJwtException) for any invalid token.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
     // Extract username
     public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+        return parseClaims(token).getSubject();
     }
 
     // Extract role
     public String extractRole(String token) {
-        return extractClaims(token).get("role", String.class);
+        return parseClaims(token).get("role", String.class);
     }
 
     // Validate token with UserDetails
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    // Check expiration
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
-    }
-
-    // Extract claims
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parseClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date());
     }
 }
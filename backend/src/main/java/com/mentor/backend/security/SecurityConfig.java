@@ -2,6 +2,7 @@ package com.mentor.backend.security;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +17,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.mentor.backend.filter.RateLimitFilter;
+
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -25,6 +29,7 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -45,6 +50,9 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public auth endpoints
                         .requestMatchers(
                                 "/api/auth/register",
@@ -62,6 +70,7 @@ public class SecurityConfig {
                                 "/api/announcements/**",
                                 "/api/gallery/**",   // ✅ Gallery visible to all
                                 "/api/about/**",
+                                "/api/sitemap.xml",
                                 "/uploads/**"
                         ).permitAll()
 
@@ -93,6 +102,8 @@ public class SecurityConfig {
                         // All other requests require authentication
                         .anyRequest().authenticated()
                 )
+                // After CORS so browsers can read the 429, before any authentication work
+                .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -103,8 +114,12 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // Cost is calibrated at startup to the target latency on this hardware (never below the default 10)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.bcrypt.targetMillis:250}") long targetMillis,
+            @Value("${app.security.bcrypt.minStrength:10}") int minStrength,
+            @Value("${app.security.bcrypt.maxStrength:14}") int maxStrength) {
+        return new BCryptPasswordEncoder(BCryptCalibrator.calibrate(targetMillis, minStrength, maxStrength));
     }
 }
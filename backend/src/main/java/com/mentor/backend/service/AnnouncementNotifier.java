@@ -0,0 +1,285 @@
+package com.mentor.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import com.mentor.backend.dto.NotificationJobResponse;
+import com.mentor.backend.entity.Announcement;
+import com.mentor.backend.entity.NotificationJob;
+import com.mentor.backend.exception.ResourceNotFoundException;
+import com.mentor.backend.repository.AnnouncementRepository;
+import com.mentor.backend.repository.NotificationJobRepository;
+import com.mentor.backend.repository.UserRecipient;
+import com.mentor.backend.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Emails an announcement to every verified user, in the background. Users are
+ * read in keyset pages (one short query per page, no connection held between
+ * them), each page goes to Brevo as a single batch call, and sends are paced to
+ * app.notifications.ratePerSecond. Progress is checkpointed to
+ * notification_jobs after every batch, so a restart resumes from the last
+ * user id instead of starting over. A lease keeps two nodes from running the
+ * same job; it is given back on shutdown, and a periodic sweep picks up
+ * unfinished jobs whose lease is free or has expired (a node that died).
+ */
+@Slf4j
+@Service
+public class AnnouncementNotifier {
+
+    private static final List<String> UNFINISHED = List.of(NotificationJob.PENDING, NotificationJob.RUNNING);
+
+    private final NotificationJobRepository jobRepository;
+    private final AnnouncementRepository announcementRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final ExecutorService runner;
+    private final String owner = UUID.randomUUID().toString();
+    // Jobs queued or running on this node, so the sweep does not submit them twice
+    private final Set<Long> active = ConcurrentHashMap.newKeySet();
+
+    private final int batchSize;
+    private final double ratePerSecond;
+    private final int maxRetries;
+    private final Duration lease;
+
+    @Value("${app.site.baseUrl:https://mentorkrish.in}")
+    private String baseUrl;
+
+    // Announcements have no page of their own; they are listed on the home page
+    @Value("${app.site.announcementsPath:/#announcement}")
+    private String announcementsPath;
+
+    public AnnouncementNotifier(NotificationJobRepository jobRepository,
+                                AnnouncementRepository announcementRepository,
+                                UserRepository userRepository,
+                                EmailService emailService,
+                                @Value("${app.notifications.batchSize:100}") int batchSize,
+                                @Value("${app.notifications.ratePerSecond:20}") double ratePerSecond,
+                                @Value("${app.notifications.maxRetries:5}") int maxRetries,
+                                @Value("${app.notifications.leaseSeconds:300}") long leaseSeconds) {
+        this.jobRepository = jobRepository;
+        this.announcementRepository = announcementRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.batchSize = Math.min(batchSize, 1000); // Brevo accepts up to 1000 message versions per call
+        this.ratePerSecond = ratePerSecond;
+        this.maxRetries = maxRetries;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "announcement-fanout");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Starts (or resumes a failed) fan-out for the announcement; a finished one is left alone. */
+    public NotificationJobResponse start(Announcement announcement) {
+        NotificationJob job = jobRepository.findByAnnouncementId(announcement.getId()).orElse(null);
+        if (job == null) {
+            LocalDateTime now = LocalDateTime.now();
+            job = jobRepository.save(NotificationJob.builder()
+                    .announcementId(announcement.getId())
+                    .status(NotificationJob.PENDING)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        } else if (NotificationJob.FAILED.equals(job.getStatus())) {
+            job.setStatus(NotificationJob.PENDING);
+            job.setLastError(null);
+            job = save(job);
+        }
+
+        if (!NotificationJob.DONE.equals(job.getStatus())) {
+            submit(job.getId());
+        }
+        return toResponse(job);
+    }
+
+    public NotificationJobResponse getJob(Long announcementId) {
+        return jobRepository.findByAnnouncementId(announcementId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No notification job for announcement id: " + announcementId));
+    }
+
+    // Resumes jobs left by a restart or a dead node once their lease is free
+    @Scheduled(initialDelayString = "${app.notifications.sweep.initialDelayMillis:10000}",
+               fixedDelayString = "${app.notifications.sweep.intervalMillis:60000}")
+    public void resumeUnfinished() {
+        for (NotificationJob job : jobRepository.findResumable(UNFINISHED, LocalDateTime.now())) {
+            submit(job.getId());
+        }
+    }
+
+    private void submit(Long jobId) {
+        if (!active.add(jobId)) return;
+        try {
+            runner.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    active.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            active.remove(jobId); // shutting down
+        }
+    }
+
+    private void run(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRepository.acquireLease(jobId, owner, now, now.plus(lease)) == 0) {
+            log.info("Notification job {} is leased by another node; the sweep retries once the lease expires", jobId);
+            return;
+        }
+        // Loaded after taking the lease so the lock columns are ours
+        NotificationJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) return;
+        if (!UNFINISHED.contains(job.getStatus())) {
+            jobRepository.releaseLease(jobId, owner);
+            return;
+        }
+        // The announcement may have been deleted while the job was waiting
+        Announcement announcement = announcementRepository.findById(job.getAnnouncementId()).orElse(null);
+        if (announcement == null) {
+            finish(job, NotificationJob.FAILED, "Announcement no longer exists");
+            return;
+        }
+        if (announcement.isImagePending()) {
+            // Not public until its async upload lands; the sweep tries again
+            jobRepository.releaseLease(jobId, owner);
+            return;
+        }
+
+        String subject = "New announcement: " + announcement.getTitle();
+        String html = render(announcement.getTitle(), announcement.getDescription());
+        long nanosPerRecipient = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+
+        try {
+            job.setStatus(NotificationJob.RUNNING);
+            if (!checkpoint(job)) return;
+
+            while (true) {
+                List<UserRecipient> page = userRepository.findRecipientsAfter(
+                        job.getLastUserId(), PageRequest.of(0, batchSize));
+                if (page.isEmpty()) break;
+
+                long start = System.nanoTime();
+                sendWithRetry(page, subject, html);
+
+                job.setLastUserId(page.get(page.size() - 1).getId());
+                job.setSentCount(job.getSentCount() + page.size());
+                if (!checkpoint(job)) {
+                    log.warn("Lost lease on notification job {}, stopping", jobId);
+                    return;
+                }
+
+                long pause = nanosPerRecipient * page.size() - (System.nanoTime() - start);
+                if (pause > 0) TimeUnit.NANOSECONDS.sleep(pause);
+            }
+            finish(job, NotificationJob.DONE, null);
+            log.info("Announcement {} sent to {} users", job.getAnnouncementId(), job.getSentCount());
+        } catch (InterruptedException e) {
+            // Shutting down: the job stays RUNNING and is free for the next sweep, here or on another node
+            jobRepository.releaseLease(jobId, owner);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (runner.isShutdown()) {
+                // An interrupted HTTP call can surface as an I/O error; still a shutdown, not a failure
+                jobRepository.releaseLease(jobId, owner);
+                return;
+            }
+            finish(job, NotificationJob.FAILED, e.getMessage());
+            log.error("Notification job {} failed after {} recipients: {}", jobId, job.getSentCount(), e.getMessage());
+        }
+    }
+
+    private void sendWithRetry(List<UserRecipient> page, String subject, String html) throws Exception {
+        List<EmailService.Recipient> recipients = page.stream()
+                .map(u -> new EmailService.Recipient(u.getEmail(), u.getFullName()))
+                .toList();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                emailService.sendBatch(recipients, subject, html);
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxRetries) throw e;
+                // 2s, 4s, 8s ... capped at a minute
+                TimeUnit.SECONDS.sleep(Math.min(60, 1L << attempt));
+            }
+        }
+    }
+
+    private boolean checkpoint(NotificationJob job) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobRepository.checkpoint(job.getId(), owner, job.getStatus(), job.getLastUserId(),
+                job.getSentCount(), now, now.plus(lease)) == 1;
+    }
+
+    private NotificationJob save(NotificationJob job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        return jobRepository.save(job);
+    }
+
+    private void finish(NotificationJob job, String status, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        String message = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        LocalDateTime completedAt = NotificationJob.DONE.equals(status) ? now : null;
+        if (jobRepository.finish(job.getId(), owner, status, message, now, completedAt) == 0) {
+            log.warn("Lost lease on notification job {}, not marking it {}", job.getId(), status);
+        }
+    }
+
+    private String render(String title, String description) {
+        String site = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        String link = site + announcementsPath;
+        return """
+            <div style="font-family:Arial,Helvetica,sans-serif;font-size:14px;color:#222">
+              <h2>%s</h2>
+              <p>%s</p>
+              <p><a href="%s">Read the full announcement</a></p>
+              <br>
+              <p>— MentorKrish</p>
+            </div>
+        """.formatted(HtmlUtils.htmlEscape(title), HtmlUtils.htmlEscape(description == null ? "" : description),
+                HtmlUtils.htmlEscape(link));
+    }
+
+    private NotificationJobResponse toResponse(NotificationJob job) {
+        return NotificationJobResponse.builder()
+                .id(job.getId())
+                .announcementId(job.getAnnouncementId())
+                .status(job.getStatus())
+                .sentCount(job.getSentCount())
+                .lastUserId(job.getLastUserId())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+
+    // The running job gives its lease back when interrupted; wait briefly so that happens before the context closes
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        runner.shutdownNow();
+        runner.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -3,16 +3,19 @@ package com.mentor.backend.service;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.mentor.backend.dto.AnnouncementRequest;
 import com.mentor.backend.dto.AnnouncementResponse;
+import com.mentor.backend.dto.ImageInfo;
+import com.mentor.backend.dto.NotificationJobResponse;
 import com.mentor.backend.entity.Announcement;
+import com.mentor.backend.entity.ImageMeta;
 import com.mentor.backend.exception.ResourceNotFoundException;
 import com.mentor.backend.repository.AnnouncementRepository;
+import com.mentor.backend.repository.ContentVersion;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,8 +24,11 @@ import lombok.RequiredArgsConstructor;
 public class AnnouncementService {
 
     private final AnnouncementRepository announcementRepository;
+    private final FeedService feedService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final AnnouncementNotifier announcementNotifier;
 
-    public AnnouncementResponse create(AnnouncementRequest request) {
+    public AnnouncementResponse create(AnnouncementRequest request, ImageMeta imageMeta) {
         LocalDate parsedDate;
         LocalTime parsedTime;
 
@@ -43,17 +49,38 @@ public class AnnouncementService {
                 .description(request.getDescription())
                 .content(request.getContent()) // <-- add this
                 .imageUrl(request.getImageUrl())
+                .imageMeta(imageMeta)
+                .imagePending(request.isImagePending())
                 .date(parsedDate)
                 .time(parsedTime)
                 .build();
 
-        return mapToResponse(announcementRepository.save(announcement));
+        Announcement saved = announcementRepository.save(announcement);
+        feedService.invalidate();
+        if (request.isNotifyUsers()) {
+            announcementNotifier.start(saved);
+        }
+        return mapToResponse(saved);
+    }
+
+    // Starts the email fan-out for an existing announcement, or resumes one that failed
+    public NotificationJobResponse notifyUsers(Long id) {
+        Announcement announcement = announcementRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with id: " + id));
+        return announcementNotifier.start(announcement);
+    }
+
+    public NotificationJobResponse getNotificationJob(Long id) {
+        return announcementNotifier.getJob(id);
     }
 
-    public List<AnnouncementResponse> getAll() {
-        return announcementRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    // Public list, written row by row from a DB cursor
+    public StreamingResponseBody streamAll() {
+        return jsonStreamWriter.stream(announcementRepository::streamVisible, this::mapToResponse);
+    }
+
+    public ContentVersion getContentVersion() {
+        return announcementRepository.findContentVersion();
     }
 
     public AnnouncementResponse getById(Long id) {
@@ -62,7 +89,7 @@ public class AnnouncementService {
         return mapToResponse(announcement);
     }
 
-    public AnnouncementResponse update(Long id, AnnouncementRequest request) {
+    public AnnouncementResponse update(Long id, AnnouncementRequest request, ImageMeta imageMeta) {
         Announcement announcement = announcementRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with id: " + id));
 
@@ -76,15 +103,33 @@ public class AnnouncementService {
         announcement.setTitle(request.getTitle());
         announcement.setDescription(request.getDescription());
         announcement.setContent(request.getContent()); // <-- add this
-        announcement.setImageUrl(request.getImageUrl());
+        // No new image (or one still uploading) keeps the current one
+        if (request.getImageUrl() != null) {
+            announcement.setImageUrl(request.getImageUrl());
+            announcement.setImageMeta(imageMeta);
+            announcement.setImagePending(false);
+        }
 
-        return mapToResponse(announcementRepository.save(announcement));
+        Announcement saved = announcementRepository.save(announcement);
+        feedService.invalidate();
+        return mapToResponse(saved);
+    }
+
+    public void attachImage(Long id, String imageUrl, ImageMeta imageMeta) {
+        Announcement announcement = announcementRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with id: " + id));
+        announcement.setImageUrl(imageUrl);
+        announcement.setImageMeta(imageMeta);
+        announcement.setImagePending(false);
+        announcementRepository.save(announcement);
+        feedService.invalidate();
     }
 
     public void delete(Long id) {
         Announcement announcement = announcementRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with id: " + id));
         announcementRepository.delete(announcement);
+        feedService.invalidate();
     }
 
     private AnnouncementResponse mapToResponse(Announcement announcement) {
@@ -94,6 +139,7 @@ public class AnnouncementService {
                 .description(announcement.getDescription())
                 .content(announcement.getContent()) // <-- add this
                 .imageUrl(announcement.getImageUrl())
+                .image(ImageInfo.of(announcement.getImageMeta()))
                 .date(announcement.getDate().toString())
                 .time(announcement.getTime().toString())
                 .createdAt(announcement.getCreatedAt())
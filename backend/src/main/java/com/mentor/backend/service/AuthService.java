@@ -2,8 +2,8 @@ package com.mentor.backend.service;
 
 import java.util.Optional;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.mentor.backend.dto.LoginRequest;
 import com.mentor.backend.dto.RegisterRequest;
@@ -18,7 +18,9 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final OtpService otpService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final UserCache userCache;
+    private final TransactionTemplate transactionTemplate;
 
     // =======================
     // REGISTER USER
@@ -43,7 +45,7 @@ public class AuthService {
             if (request.getPassword() == null || request.getPassword().isEmpty()) {
                 throw new RuntimeException("Password is required for email registration.");
             }
-            builder.password(passwordEncoder.encode(request.getPassword()));
+            builder.password(passwordHashingService.encode(request.getPassword()));
         } else if ("GOOGLE".equalsIgnoreCase(request.getLoginMethod())) {
             // Allow null password for Google users
             builder.password(null);
@@ -53,14 +55,17 @@ public class AuthService {
         }
 
         User user = builder.build();
-        User saved = userRepository.save(user);
 
-        try {
-            otpService.sendOtp(saved.getEmail());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to send OTP: " + e.getMessage(), e);
-        }
-        return saved;
+        // User, OTP and outbox email commit together (password hashing stays outside the transaction)
+        return transactionTemplate.execute(status -> {
+            User saved = userRepository.save(user);
+            try {
+                otpService.sendOtp(saved.getEmail());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to send OTP: " + e.getMessage(), e);
+            }
+            return saved;
+        });
     }
 
     // =======================
@@ -73,7 +78,7 @@ public class AuthService {
             userOpt = userRepository.findByFirebaseUid(request.getFirebaseUid());
         } else if (request.getEmail() != null && request.getPassword() != null) {
             userOpt = userRepository.findByEmail(request.getEmail())
-                    .filter(user -> passwordEncoder.matches(request.getPassword(), user.getPassword()));
+                    .filter(user -> passwordHashingService.matches(request.getPassword(), user.getPassword()));
         }
 
         if (userOpt.isPresent() && !userOpt.get().isEmailVerified()) {
@@ -97,6 +102,7 @@ public class AuthService {
             userRepository.findByEmail(email).ifPresent(u -> {
                 u.setEmailVerified(true);
                 userRepository.save(u);
+                userCache.evict(email);
             });
         }
         return verified;
@@ -146,8 +152,9 @@ public class AuthService {
         if (!verified) return false;
 
         userRepository.findByEmail(email).ifPresent(u -> {
-            u.setPassword(passwordEncoder.encode(newPassword));
+            u.setPassword(passwordHashingService.encode(newPassword));
             userRepository.save(u);
+            userCache.evict(email);
         });
         return true;
     }
@@ -0,0 +1,113 @@
+package com.mentor.backend.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mentor.backend.entity.Blog;
+
+/**
+ * Bounded read-through cache for single-blog lookups. Entries expire after a TTL
+ * and are evicted by size; BlogService invalidates them on every write.
+ *
+ * A load that overlaps a write must not put back the row it read before the
+ * write: every eviction bumps a generation, and a load only caches its result
+ * if the generation is unchanged. Inside a transaction the eviction is repeated
+ * once it completes, so a row loaded before the commit is dropped too.
+ */
+@Component
+public class BlogCache {
+
+    private final Cache<Long, Blog> byId;
+    private final Cache<String, Blog> bySlug;
+    private final AtomicLong generation = new AtomicLong();
+
+    public BlogCache(@Value("${app.blog.cache.maxEntries:500}") long maxEntries,
+                     @Value("${app.blog.cache.ttlSeconds:600}") long ttlSeconds) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.bySlug = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // Misses are not cached, so a lookup for an unknown id/slug always reaches the loader
+    public Optional<Blog> getById(Long id, Function<Long, Optional<Blog>> loader) {
+        Blog cached = byId.getIfPresent(id);
+        if (cached != null) return Optional.of(cached);
+        long seen = generation.get();
+        Optional<Blog> loaded = loader.apply(id);
+        loaded.ifPresent(blog -> put(blog, seen));
+        return loaded;
+    }
+
+    public Optional<Blog> getBySlug(String slug, Function<String, Optional<Blog>> loader) {
+        Blog cached = bySlug.getIfPresent(slug);
+        if (cached != null) return Optional.of(cached);
+        long seen = generation.get();
+        Optional<Blog> loaded = loader.apply(slug);
+        loaded.ifPresent(blog -> put(blog, seen));
+        return loaded;
+    }
+
+    // Synchronized with invalidate, so an eviction cannot slip between the check and the puts
+    private synchronized void put(Blog blog, long seen) {
+        if (generation.get() != seen) return;
+        byId.put(blog.getId(), blog);
+        bySlug.put(blog.getSlug(), blog);
+    }
+
+    public void evict(Long id, String... slugs) {
+        invalidate(id, slugs);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(id, slugs);
+                }
+            });
+        }
+    }
+
+    private synchronized void invalidate(Long id, String... slugs) {
+        generation.incrementAndGet();
+        if (id != null) byId.invalidate(id);
+        for (String slug : slugs) {
+            if (slug != null) bySlug.invalidate(slug);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("byId", describe(byId));
+        stats.put("bySlug", describe(bySlug));
+        return stats;
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats s = cache.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", cache.estimatedSize());
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("evictions", s.evictionCount());
+        return m;
+    }
+}
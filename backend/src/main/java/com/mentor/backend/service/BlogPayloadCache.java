@@ -0,0 +1,84 @@
+package com.mentor.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mentor.backend.entity.Blog;
+
+/**
+ * Ready-to-send JSON bodies for single blog posts, stored both as identity bytes
+ * and gzip. Keyed by id + last modification time so an edited post can never be
+ * served stale; BlogService also evicts explicitly to free the memory.
+ */
+@Component
+public class BlogPayloadCache {
+
+    public record Payload(byte[] identity, byte[] gzip) {
+    }
+
+    private record Key(Long id, LocalDateTime lastModified) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, Payload> cache;
+
+    public BlogPayloadCache(ObjectMapper objectMapper,
+                            @Value("${app.blog.payloadCache.maxBytes:33554432}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Payload payload) -> payload.identity().length + payload.gzip().length)
+                .recordStats()
+                .build();
+    }
+
+    public Payload get(Blog blog, Supplier<Object> body) {
+        LocalDateTime lastModified = blog.getUpdatedAt() != null ? blog.getUpdatedAt() : blog.getCreatedAt();
+        return cache.get(new Key(blog.getId(), lastModified), key -> render(body.get()));
+    }
+
+    public void evict(Long id) {
+        cache.asMap().keySet().removeIf(key -> key.id().equals(id));
+    }
+
+    private Payload render(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 3 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            }
+            return new Payload(json, out.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize blog response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = cache.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("entries", cache.estimatedSize());
+        m.put("weightedBytes", cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("evictions", s.evictionCount());
+        return m;
+    }
+}
@@ -0,0 +1,261 @@
+package com.mentor.backend.service;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mentor.backend.dto.BlogSearchResult;
+import com.mentor.backend.entity.Blog;
+import com.mentor.backend.repository.BlogRepository;
+import com.mentor.backend.repository.ContentVersion;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process inverted index over blog title, author and content, ranked with
+ * BM25 (field-weighted term frequencies). Built at startup and kept up to date
+ * by BlogService on every create/update/delete; queries never touch the DB.
+ *
+ * Writes made on other instances are picked up by a periodic check of the blog
+ * table's ContentVersion, which rebuilds the index when it has moved since the
+ * last build (local writes move it too, costing one extra rebuild each).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlogSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    // Expanded prefix terms score lower than an exact match of the same word
+    private static final double PREFIX_BOOST = 0.6;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "were", "with");
+
+    private final BlogRepository blogRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (blog id -> weighted term frequency); sorted so prefixes are a range scan
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, IndexedBlog> documents = new HashMap<>();
+    private long totalLength;
+    private volatile Fingerprint builtFrom;
+
+    private record Fingerprint(Long count, Long idSum, LocalDateTime lastModified) {
+        static Fingerprint of(ContentVersion version) {
+            return new Fingerprint(version.getCount(), version.getIdSum(), version.getLastModified());
+        }
+    }
+
+    private record IndexedBlog(Long id, String title, String slug, String author, String imageUrl,
+                               String excerpt, LocalDateTime publishedAt, boolean published, int length,
+                               Map<String, Integer> termFrequencies) {
+    }
+
+    // The snapshot is read under the write lock, so an index() call made meanwhile waits and applies on top
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<Blog> blogs;
+            lock.writeLock().lock();
+            try {
+                // Read before the rows: a write in between only makes the next check rebuild again
+                builtFrom = Fingerprint.of(blogRepository.findContentVersion());
+                blogs = blogRepository.findAll();
+                postings.clear();
+                documents.clear();
+                totalLength = 0;
+                blogs.forEach(this::addUnlocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Blog search index built with {} documents and {} terms", blogs.size(), postings.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to build blog search index", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.blog.search.refreshMillis:60000}",
+               fixedDelayString = "${app.blog.search.refreshMillis:60000}")
+    public void refreshIfChanged() {
+        try {
+            if (!Fingerprint.of(blogRepository.findContentVersion()).equals(builtFrom)) rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Blog search index refresh check failed: {}", e.getMessage());
+        }
+    }
+
+    public void index(Blog blog) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(blog.getId());
+            addUnlocked(blog);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search over published posts. The last word of the query may be incomplete
+     * (search as you type) and also matches its completions, unless the query ends in a
+     * space or punctuation; earlier words match exactly.
+     */
+    public List<BlogSearchResult> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return List.of();
+        // Only when the trailing word itself survived tokenizing (not a stop word, not after a space)
+        String[] words = SEPARATORS.split(query, -1);
+        boolean lastIncomplete = !tokenize(words[words.length - 1]).isEmpty();
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) return List.of();
+            double avgLength = (double) totalLength / documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                // Best match per document for this query word: exact term or one of its completions
+                Map<Long, Double> best = new HashMap<>();
+                scoreTerm(term, 1.0, avgLength, best);
+                if (lastIncomplete && i == terms.size() - 1) {
+                    NavigableMap<String, Map<Long, Integer>> completions =
+                            postings.subMap(term, false, term + Character.MAX_VALUE, false);
+                    int expanded = 0;
+                    for (String completion : completions.keySet()) {
+                        if (expanded++ >= MAX_PREFIX_EXPANSIONS) break;
+                        scoreTerm(completion, PREFIX_BOOST, avgLength, best);
+                    }
+                }
+                best.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()))
+                    .limit(limit)
+                    .map(e -> toResult(documents.get(e.getKey()), e.getValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scoreTerm(String term, double boost, double avgLength, Map<Long, Double> best) {
+        Map<Long, Integer> posting = postings.get(term);
+        if (posting == null) return;
+
+        int n = documents.size();
+        int df = posting.size();
+        double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+
+        for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+            IndexedBlog doc = documents.get(entry.getKey());
+            if (!doc.published()) continue;
+            int tf = entry.getValue();
+            double norm = K1 * (1 - B + B * doc.length() / avgLength);
+            double score = boost * idf * (tf * (K1 + 1)) / (tf + norm);
+            best.merge(doc.id(), score, Math::max);
+        }
+    }
+
+    private void addUnlocked(Blog blog) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        length += count(tokenize(blog.getTitle()), TITLE_WEIGHT, frequencies);
+        length += count(tokenize(blog.getAuthor()), AUTHOR_WEIGHT, frequencies);
+        length += count(tokenize(blog.getContent()), CONTENT_WEIGHT, frequencies);
+
+        IndexedBlog doc = new IndexedBlog(blog.getId(), blog.getTitle(), blog.getSlug(), blog.getAuthor(),
+                blog.getImageUrl(), blog.getExcerpt(), blog.getPublishedAt(),
+                blog.isPublished() && !blog.isImagePending(), length, frequencies);
+        documents.put(doc.id(), doc);
+        totalLength += length;
+        frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(doc.id(), tf));
+    }
+
+    private void removeUnlocked(Long id) {
+        IndexedBlog doc = documents.remove(id);
+        if (doc == null) return;
+        totalLength -= doc.length();
+        for (String term : doc.termFrequencies().keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null) continue;
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+    }
+
+    private static int count(List<String> tokens, int weight, Map<String, Integer> frequencies) {
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String plain = BlogText.plainText(text);
+        String folded = DIACRITICS.matcher(Normalizer.normalize(plain, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (token.length() < 2 || STOP_WORDS.contains(token)) continue;
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static BlogSearchResult toResult(IndexedBlog doc, double score) {
+        return BlogSearchResult.builder()
+                .id(doc.id())
+                .title(doc.title())
+                .slug(doc.slug())
+                .author(doc.author())
+                .imageUrl(doc.imageUrl())
+                .excerpt(doc.excerpt())
+                .publishedAt(doc.publishedAt())
+                .score(score)
+                .build();
+    }
+}
@@ -1,18 +1,38 @@
 package com.mentor.backend.service;
 
+import java.nio.charset.StandardCharsets;
 import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.mentor.backend.dto.BlogPageResponse;
 import com.mentor.backend.dto.BlogRequest;
+import com.mentor.backend.dto.BlogSearchResult;
+import com.mentor.backend.dto.BlogSummaryResponse;
+import com.mentor.backend.dto.ImageInfo;
 import com.mentor.backend.entity.Blog;
+import com.mentor.backend.entity.ImageMeta;
 import com.mentor.backend.exception.ResourceNotFoundException;
 import com.mentor.backend.repository.BlogRepository;
+import com.mentor.backend.repository.BlogSummary;
+import com.mentor.backend.repository.ContentVersion;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,11 +41,26 @@ import lombok.RequiredArgsConstructor;
 public class BlogService {
 
     private final BlogRepository blogRepository;
-    
+    private final BlogCache blogCache;
+    private final BlogSearchIndex searchIndex;
+    private final BlogPayloadCache payloadCache;
+    private final FeedService feedService;
 
     private static final Pattern NONLATIN = Pattern.compile("[^\\w-]");
     private static final Pattern WHITESPACE = Pattern.compile("[\\s]");
 
+    // Public feed (published posts only) kept in memory; any write bumps the version
+    private record PublicFeed(long version, long loadedAt, List<Blog> blogs) {}
+
+    private final AtomicLong feedVersion = new AtomicLong();
+    private volatile PublicFeed publicFeed;
+
+    @Value("${app.blog.publicFeed.ttlSeconds:60}")
+    private long publicFeedTtlSeconds;
+
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 50;
+
     private String generateSlug(String input) {
         if (input == null) return null;
         String noWhitespace = WHITESPACE.matcher(input).replaceAll("-");
@@ -34,7 +69,7 @@ public class BlogService {
         return slug.toLowerCase(Locale.ENGLISH);
     }
 
-    public Blog create(BlogRequest req) {
+    public Blog create(BlogRequest req, ImageMeta imageMeta) {
         String slug = (req.getSlug() == null || req.getSlug().isBlank())
                 ? generateSlug(req.getTitle())
                 : generateSlug(req.getSlug());
@@ -53,39 +88,204 @@ public class BlogService {
                 .published(req.isPublished())
                 .publishedAt(req.isPublished() ? LocalDateTime.now() : null)
                 .imageUrl(req.getImageUrl()) // Set image URL
+                .imageMeta(imageMeta)
+                .imagePending(req.isImagePending())
                 .build();
+        applyDerivedFields(blog);
+
+        Blog saved = blogRepository.save(blog);
+        blogCache.evict(saved.getId(), saved.getSlug());
+        feedService.invalidate();
+        afterCommit(() -> {
+            feedVersion.incrementAndGet();
+            searchIndex.index(saved);
+        });
+        return saved;
+    }
+
+    // The search index, public list and payload cache are not transactional. Inside a transaction
+    // (the async upload submit) they change only once it commits, so a rollback never shows in them.
+    // Not for transaction-aware callees: synchronizations registered during afterCommit never run.
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void applyDerivedFields(Blog blog) {
+        String text = BlogText.plainText(blog.getContent());
+        int words = BlogText.wordCount(text);
+        blog.setExcerpt(BlogText.excerpt(text));
+        blog.setWordCount(words);
+        blog.setReadingTimeMinutes(BlogText.readingTimeMinutes(words));
+    }
+
+    // Fills excerpt/word count/reading time for posts written before these columns existed.
+    // Only those columns are written: updated_at (and with it ETags and sitemap lastmod) stays as it was.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillDerivedFields() {
+        List<Blog> missing = blogRepository.findByExcerptIsNull();
+        if (missing.isEmpty()) return;
+        for (Blog blog : missing) {
+            applyDerivedFields(blog);
+            blogRepository.fillDerivedFields(blog.getId(), blog.getExcerpt(), blog.getWordCount(),
+                    blog.getReadingTimeMinutes());
+            blogCache.evict(blog.getId(), blog.getSlug());
+            payloadCache.evict(blog.getId());
+            searchIndex.index(blog);
+        }
+        feedVersion.incrementAndGet();
+        feedService.invalidate();
+    }
+
+    // Admin: every post, drafts included; must be consumed inside a transaction (see JsonStreamWriter)
+    public Stream<Blog> streamAll() {
+        return blogRepository.streamAll();
+    }
+
+    /**
+     * Published posts, newest first, served from memory. Reloaded after any
+     * blog write on this node, and at most every publicFeed.ttlSeconds otherwise.
+     */
+    public List<Blog> getPublished() {
+        long version = feedVersion.get();
+        PublicFeed feed = publicFeed;
+        long now = System.nanoTime();
+        if (feed != null && feed.version() == version
+                && now - feed.loadedAt() < TimeUnit.SECONDS.toNanos(publicFeedTtlSeconds)) {
+            return feed.blogs();
+        }
+        // If a write lands while loading, the stored version is already behind and the next call reloads
+        List<Blog> blogs = List.copyOf(blogRepository.findByPublishedTrueAndImagePendingFalseOrderByPublishedAtDescIdDesc());
+        publicFeed = new PublicFeed(version, now, blogs);
+        return blogs;
+    }
+
+    public Blog getPublishedById(Long id, boolean includeDrafts) {
+        Blog blog = getById(id);
+        if (!isPublic(blog) && !includeDrafts) {
+            throw new ResourceNotFoundException("Blog", "id", id);
+        }
+        return blog;
+    }
+
+    public Blog getPublishedBySlug(String slug, boolean includeDrafts) {
+        Blog blog = getBySlug(slug);
+        if (!isPublic(blog) && !includeDrafts) {
+            throw new ResourceNotFoundException("Blog", "slug", slug);
+        }
+        return blog;
+    }
+
+    // Drafts and posts still waiting for their async image are admin-only
+    private static boolean isPublic(Blog blog) {
+        return blog.isPublished() && !blog.isImagePending();
+    }
+
+    public ContentVersion getContentVersion() {
+        return blogRepository.findContentVersion();
+    }
+
+    /**
+     * Keyset-paginated listing of published posts (newest first). Only summary
+     * columns are read, and each page costs the same regardless of its position.
+     */
+    public BlogPageResponse getPublishedPage(String cursor, Integer size) {
+        int pageSize = (size == null || size < 1) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists without a count query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<BlogSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = blogRepository.findPublishedSummaries(limit);
+        } else {
+            PageCursor after = decodeCursor(cursor);
+            rows = blogRepository.findPublishedSummariesAfter(after.publishedAt(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<BlogSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            BlogSummary last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getPublishedAt(), last.getId());
+        }
+
+        List<BlogSummaryResponse> items = page.stream()
+                .map(b -> BlogSummaryResponse.builder()
+                        .id(b.getId())
+                        .title(b.getTitle())
+                        .slug(b.getSlug())
+                        .author(b.getAuthor())
+                        .imageUrl(b.getImageUrl())
+                        .image(ImageInfo.of(b.getImageMeta()))
+                        .excerpt(b.getExcerpt())
+                        .readingTimeMinutes(b.getReadingTimeMinutes())
+                        .publishedAt(b.getPublishedAt())
+                        .build())
+                .toList();
+        return new BlogPageResponse(items, nextCursor);
+    }
 
-        return blogRepository.save(blog);
+    private record PageCursor(LocalDateTime publishedAt, Long id) {}
+
+    private String encodeCursor(LocalDateTime publishedAt, Long id) {
+        String raw = publishedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PageCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            return new PageCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
     }
 
-    public List<Blog> getAll() {
-        return blogRepository.findAll();
+    public List<BlogSearchResult> search(String query, Integer limit) {
+        int max = (limit == null || limit < 1) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        return searchIndex.search(query, max);
     }
 
     public Blog getById(Long id) {
-        return blogRepository.findById(id)
+        return blogCache.getById(id, blogRepository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("Blog", "id", id));
     }
 
     public Blog getBySlug(String slug) {
-        return blogRepository.findBySlug(slug)
+        return blogCache.getBySlug(slug, blogRepository::findBySlug)
                 .orElseThrow(() -> new ResourceNotFoundException("Blog", "slug", slug));
     }
 
-    public Blog update(Long id, BlogRequest req) {
-        Blog blog = getById(id);
+    public Blog update(Long id, BlogRequest req, ImageMeta imageMeta) {
+        // Load a fresh copy: cached instances are shared with readers and must not be mutated
+        Blog blog = blogRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Blog", "id", id));
+        String previousSlug = blog.getSlug();
 
         if (req.getTitle() != null && !req.getTitle().isBlank())
             blog.setTitle(req.getTitle());
-        if (req.getContent() != null)
+        if (req.getContent() != null) {
             blog.setContent(req.getContent());
+            applyDerivedFields(blog);
+        }
         if (req.getAuthor() != null)
             blog.setAuthor(req.getAuthor());
 
         if (req.getSlug() != null && !req.getSlug().isBlank()) {
             String newSlug = generateSlug(req.getSlug());
             if (!newSlug.equals(blog.getSlug()) && blogRepository.existsBySlug(newSlug)) {
-                throw new ResponseStatusException(org.springframework.http.HttpStatus.CONFLICT, "Slug already in use");
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Slug already in use");
             }
             blog.setSlug(newSlug);
         }
@@ -100,15 +300,48 @@ public class BlogService {
 
         if (req.getImageUrl() != null && !req.getImageUrl().isBlank()) {
             blog.setImageUrl(req.getImageUrl());
+            blog.setImageMeta(imageMeta);
+            blog.setImagePending(false);
         }
 
-        return blogRepository.save(blog);
+        Blog saved = blogRepository.save(blog);
+        blogCache.evict(id, previousSlug, saved.getSlug());
+        feedService.invalidate();
+        afterCommit(() -> {
+            payloadCache.evict(id);
+            feedVersion.incrementAndGet();
+            searchIndex.index(saved);
+        });
+        return saved;
+    }
+
+    public Blog attachImage(Long id, String imageUrl, ImageMeta imageMeta) {
+        Blog blog = blogRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Blog", "id", id));
+        blog.setImageUrl(imageUrl);
+        blog.setImageMeta(imageMeta);
+        blog.setImagePending(false);
+        Blog saved = blogRepository.save(blog);
+        blogCache.evict(id, saved.getSlug());
+        feedService.invalidate();
+        afterCommit(() -> {
+            payloadCache.evict(id);
+            feedVersion.incrementAndGet();
+            searchIndex.index(saved);
+        });
+        return saved;
     }
 
     public void delete(Long id) {
-        if (!blogRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Blog", "id", id);
-        }
+        Blog blog = blogRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Blog", "id", id));
         blogRepository.deleteById(id);
+        blogCache.evict(id, blog.getSlug());
+        feedService.invalidate();
+        afterCommit(() -> {
+            payloadCache.evict(id);
+            feedVersion.incrementAndGet();
+            searchIndex.remove(id);
+        });
     }
 }
@@ -0,0 +1,49 @@
+package com.mentor.backend.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * Plain-text helpers for blog bodies (which may contain HTML from the editor).
+ * Shared by write-time excerpt derivation and the search index tokenizer.
+ */
+final class BlogText {
+
+    static final int EXCERPT_LENGTH = 200;
+    static final int WORDS_PER_MINUTE = 200;
+
+    private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern ENTITIES = Pattern.compile("&[a-zA-Z#0-9]+;");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private BlogText() {
+    }
+
+    static String plainText(String content) {
+        if (content == null || content.isEmpty()) return "";
+        String text = TAGS.matcher(content).replaceAll(" ");
+        text = text.replace("&nbsp;", " ")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&");
+        text = ENTITIES.matcher(text).replaceAll(" ");
+        return SPACES.matcher(text).replaceAll(" ").trim();
+    }
+
+    // Cut at the last word boundary before the limit so the teaser never ends mid-word
+    static String excerpt(String plainText) {
+        if (plainText.length() <= EXCERPT_LENGTH) return plainText;
+        int cut = plainText.lastIndexOf(' ', EXCERPT_LENGTH);
+        if (cut <= 0) cut = EXCERPT_LENGTH;
+        return plainText.substring(0, cut).stripTrailing() + "…";
+    }
+
+    static int wordCount(String plainText) {
+        return plainText.isEmpty() ? 0 : SPACES.split(plainText).length;
+    }
+
+    static int readingTimeMinutes(int wordCount) {
+        return Math.max(1, (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+    }
+}
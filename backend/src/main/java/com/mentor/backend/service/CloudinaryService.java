@@ -2,22 +2,213 @@ package com.mentor.backend.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
-import lombok.RequiredArgsConstructor;
+import com.mentor.backend.entity.ImageMeta;
+import com.mentor.backend.entity.MediaAsset;
+import com.mentor.backend.repository.MediaAssetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class CloudinaryService {
 
+    private static final String UPLOAD_SEGMENT = "/image/upload/";
+
+    // URL of the stored file plus the layout facts computed for it (null for non-images)
+    public record UploadedMedia(String url, ImageMeta imageMeta) {
+    }
+
     private final Cloudinary cloudinary;
+    private final MediaAssetRepository mediaAssetRepository;
+    private final ImageNormalizer imageNormalizer;
+    private final ImageAnalyzer imageAnalyzer;
+    private final List<Integer> variantWidths;
+    private final long largeUploadThreshold;
+    private final int chunkSize;
+
+    private final LongAdder uploads = new LongAdder();
+    private final LongAdder dedupHits = new LongAdder();
+    private final LongAdder bytesSkipped = new LongAdder();
+
+    public CloudinaryService(Cloudinary cloudinary,
+                             MediaAssetRepository mediaAssetRepository,
+                             ImageNormalizer imageNormalizer,
+                             ImageAnalyzer imageAnalyzer,
+                             @Value("${app.image.variantWidths:320,640,960,1280,1920}") String variantWidths,
+                             @Value("${app.upload.largeThresholdBytes:20971520}") long largeUploadThreshold,
+                             // Cloudinary requires chunks of at least 5 MB
+                             @Value("${app.upload.chunkSizeBytes:6291456}") int chunkSize) {
+        this.cloudinary = cloudinary;
+        this.mediaAssetRepository = mediaAssetRepository;
+        this.imageNormalizer = imageNormalizer;
+        this.imageAnalyzer = imageAnalyzer;
+        this.variantWidths = Arrays.stream(variantWidths.split(","))
+                .map(String::trim)
+                .filter(w -> !w.isEmpty())
+                .map(Integer::valueOf)
+                .sorted()
+                .toList();
+        this.largeUploadThreshold = largeUploadThreshold;
+        this.chunkSize = Math.max(chunkSize, 5 * 1024 * 1024);
+    }
+
+    // The multipart part is spooled to a temp file (not read into the heap) and streamed from disk
+    public UploadedMedia uploadMedia(MultipartFile file) throws IOException {
+        Path temp = Files.createTempFile("upload-", ".bin");
+        try {
+            return upload(temp, spool(file, temp));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Copies the part to {@code target} and returns the SHA-256 of its bytes, hashed as
+     * they are copied so the upload never needs a separate hash pass.
+     */
+    public String spool(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Identical content is uploaded once: later uploads of the same bytes reuse the stored URL.
+    // The hash is of the original file, so a repeat also skips normalization.
+    // Without a hash from spool (jobs queued before it was recorded) the file is hashed here.
+    public UploadedMedia upload(Path path, String hash) throws IOException {
+        long size = Files.size(path);
+        if (hash == null) hash = sha256(path);
+        var existing = mediaAssetRepository.findByContentHash(hash);
+        if (existing.isPresent()) {
+            dedupHits.increment();
+            bytesSkipped.add(size);
+            log.debug("Upload deduplicated by hash {}", hash);
+            return toMedia(existing.get());
+        }
+
+        Path toSend = imageNormalizer.normalize(path);
+        Map<?, ?> result;
+        ImageMeta meta;
+        try {
+            // Analyze what is actually stored, so sizes match the delivered image; no hints if it is slow
+            meta = imageNormalizer.call(() -> imageAnalyzer.analyze(toSend), null);
+            result = send(toSend, Files.size(toSend));
+        } finally {
+            if (!toSend.equals(path)) Files.deleteIfExists(toSend);
+        }
+        uploads.increment();
+
+        MediaAsset asset = MediaAsset.builder()
+                .contentHash(hash)
+                .url(result.get("secure_url").toString())
+                .sizeBytes(size)
+                .createdAt(LocalDateTime.now())
+                .build();
+        if (meta != null) {
+            asset.setWidth(meta.getWidth());
+            asset.setHeight(meta.getHeight());
+            asset.setDominantColor(meta.getDominantColor());
+            asset.setPlaceholder(meta.getPlaceholder());
+        } else if ("image".equals(result.get("resource_type"))) {
+            // Decoder could not read it (e.g. webp/heic); Cloudinary still knows the size
+            asset.setWidth(intOrNull(result.get("width")));
+            asset.setHeight(intOrNull(result.get("height")));
+        }
+        try {
+            mediaAssetRepository.save(asset);
+        } catch (DataIntegrityViolationException e) {
+            // Same file uploaded concurrently; keep the asset that was recorded first
+            return toMedia(mediaAssetRepository.findByContentHash(asset.getContentHash()).orElse(asset));
+        }
+        return toMedia(asset);
+    }
+
+    private UploadedMedia toMedia(MediaAsset asset) {
+        if (asset.getWidth() == null && asset.getDominantColor() == null) {
+            return new UploadedMedia(asset.getUrl(), null);
+        }
+        ImageMeta meta = ImageMeta.builder()
+                .width(asset.getWidth())
+                .height(asset.getHeight())
+                .dominantColor(asset.getDominantColor())
+                .placeholder(asset.getPlaceholder())
+                .srcset(srcset(asset.getUrl(), asset.getWidth()))
+                .build();
+        return new UploadedMedia(asset.getUrl(), meta);
+    }
+
+    // Cloudinary derives each width on first request from the transformation in the URL.
+    // Widths at or above the intrinsic width are skipped (c_limit would not enlarge them anyway);
+    // the original is always the last candidate.
+    String srcset(String url, Integer width) {
+        int at = url.indexOf(UPLOAD_SEGMENT);
+        if (at < 0 || width == null) return null;
+        String head = url.substring(0, at + UPLOAD_SEGMENT.length());
+        String tail = url.substring(at + UPLOAD_SEGMENT.length());
+        String variants = variantWidths.stream()
+                .filter(w -> w < width)
+                .map(w -> head + "c_limit,w_" + w + ",f_auto,q_auto/" + tail + " " + w + "w")
+                .collect(Collectors.joining(", "));
+        String original = url + " " + width + "w";
+        return variants.isEmpty() ? original : variants + ", " + original;
+    }
+
+    private static Integer intOrNull(Object value) {
+        return value instanceof Number n ? n.intValue() : null;
+    }
+
+    // Large files go through the chunked API so a single request never carries the whole file
+    private Map<?, ?> send(Path path, long size) throws IOException {
+        Map<?, ?> options = ObjectUtils.asMap("resource_type", "auto");
+        return size > largeUploadThreshold
+                ? cloudinary.uploader().uploadLarge(path.toFile(), options, chunkSize)
+                : cloudinary.uploader().upload(path.toFile(), options);
+    }
+
+    private static String sha256(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 
-    public String uploadFile(MultipartFile file) throws IOException {
-        Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(),
-                ObjectUtils.asMap("resource_type", "auto"));
-        return uploadResult.get("secure_url").toString();
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("uploads", uploads.sum());
+        m.put("dedupHits", dedupHits.sum());
+        m.put("bytesSkipped", bytesSkipped.sum());
+        return m;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,242 @@
+package com.mentor.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.mentor.backend.entity.EmailOutbox;
+import com.mentor.backend.repository.EmailOutboxRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable queue for transactional email. Callers enqueue inside their own
+ * transaction and return immediately; a poller claims due rows in batches
+ * (SKIP LOCKED, so several nodes can drain the same table) and hands them to a
+ * small sender pool. Failures back off exponentially with jitter and end up
+ * DEAD after maxAttempts; a 4xx from Brevo (bad address, rejected payload)
+ * will not get better with retries and goes DEAD at once. A commit wakes the
+ * poller so OTPs go out without waiting for the next poll.
+ */
+@Slf4j
+@Service
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate tx;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long pollMillis;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+
+    private final ScheduledExecutorService poller;
+    private final ExecutorService senders;
+    private final AtomicBoolean wakeQueued = new AtomicBoolean();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository,
+                              EmailService emailService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.email.outbox.enabled:true}") boolean enabled,
+                              @Value("${app.email.outbox.workers:4}") int workers,
+                              @Value("${app.email.outbox.batchSize:20}") int batchSize,
+                              @Value("${app.email.outbox.maxAttempts:8}") int maxAttempts,
+                              @Value("${app.email.outbox.pollMillis:2000}") long pollMillis,
+                              @Value("${app.email.outbox.leaseSeconds:120}") long leaseSeconds,
+                              @Value("${app.email.outbox.baseBackoffSeconds:5}") long baseBackoffSeconds,
+                              @Value("${app.email.outbox.maxBackoffSeconds:3600}") long maxBackoffSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollMillis = pollMillis;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.baseBackoff = Duration.ofSeconds(baseBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.poller = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "email-outbox-poller"));
+        this.senders = Executors.newFixedThreadPool(workers,
+                r -> daemon(r, "email-outbox-sender-" + counter.incrementAndGet()));
+    }
+
+    /** Queues a message; joins the caller's transaction when there is one. */
+    public void enqueue(String toEmail, String subject, String htmlContent) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(EmailOutbox.builder()
+                .toEmail(toEmail)
+                .subject(subject)
+                .htmlContent(htmlContent)
+                .status(EmailOutbox.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wake();
+                }
+            });
+        } else {
+            wake();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Email outbox worker disabled");
+            return;
+        }
+        poller.scheduleWithFixedDelay(this::drainSafely, 0, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void wake() {
+        if (enabled && wakeQueued.compareAndSet(false, true)) {
+            poller.execute(() -> {
+                wakeQueued.set(false);
+                drainSafely();
+            });
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            while (drainBatch() == batchSize) {
+                // keep going while there is a backlog
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Email outbox drain failed: {}", e.getMessage());
+        }
+    }
+
+    private int drainBatch() throws InterruptedException {
+        List<EmailOutbox> batch = tx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = outboxRepository.findDueForUpdate(now, batchSize);
+            due.forEach(m -> m.setLockedUntil(now.plus(lease)));
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) return 0;
+
+        List<Future<?>> inFlight = new ArrayList<>(batch.size());
+        for (EmailOutbox message : batch) {
+            inFlight.add(senders.submit(() -> deliver(message)));
+        }
+        // Wait for the batch so the next claim never overlaps rows whose lease we still hold
+        for (Future<?> f : inFlight) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                log.warn("Email outbox sender crashed: {}", e.getCause().getMessage());
+            }
+        }
+        return batch.size();
+    }
+
+    private void deliver(EmailOutbox message) {
+        try {
+            emailService.sendEmail(message.getToEmail(), message.getSubject(), message.getHtmlContent());
+            outboxRepository.deleteById(message.getId());
+            sent.increment();
+        } catch (Exception e) {
+            int attempts = message.getAttempts() + 1;
+            String error = truncate(e.getMessage());
+            if (attempts >= maxAttempts || isPermanent(e)) {
+                outboxRepository.markFailed(message.getId(), EmailOutbox.DEAD, attempts, LocalDateTime.now(), error);
+                deadLettered.increment();
+                log.error("Email {} to {} dead-lettered after {} attempts: {}",
+                        message.getId(), message.getToEmail(), attempts, error);
+            } else {
+                outboxRepository.markFailed(message.getId(), EmailOutbox.PENDING, attempts,
+                        LocalDateTime.now().plus(backoff(attempts)), error);
+                failed.increment();
+                log.warn("Email {} attempt {} failed, will retry: {}", message.getId(), attempts, error);
+            }
+        }
+    }
+
+    // 4xx means the request itself is wrong; 408 and 429 are the exceptions that are worth retrying
+    private static boolean isPermanent(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof HttpClientErrorException client) {
+                int status = client.getStatusCode().value();
+                return status != 408 && status != 429;
+            }
+        }
+        return false;
+    }
+
+    // base * 2^(attempts-1), capped, with up to 20% jitter so retries from an outage spread out
+    private Duration backoff(int attempts) {
+        long millis = baseBackoff.toMillis() << Math.min(attempts - 1, 20);
+        millis = Math.min(millis, maxBackoff.toMillis());
+        return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(millis / 5 + 1));
+    }
+
+    private static String truncate(String s) {
+        if (s == null) return null;
+        return s.length() <= 1000 ? s : s.substring(0, 1000);
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("pending", outboxRepository.countByStatus(EmailOutbox.PENDING));
+        m.put("dead", outboxRepository.countByStatus(EmailOutbox.DEAD));
+        m.put("sent", sent.sum());
+        m.put("retried", failed.sum());
+        m.put("deadLettered", deadLettered.sum());
+        return m;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        senders.shutdown();
+    }
+}
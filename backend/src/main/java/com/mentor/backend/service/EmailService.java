@@ -1,21 +1,30 @@
 package com.mentor.backend.service;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class EmailService {
 
-    private static final String BREVO_API_URL = "https://api.brevo.com/v3/smtp/email";
+    // Overridable so a local stub server can stand in for Brevo
+    @Value("${brevo.api.url:https://api.brevo.com/v3/smtp/email}")
+    private String brevoApiUrl;
 
     @Value("${brevo.api.key}")
     private String brevoApiKey;
@@ -26,9 +35,31 @@ public class EmailService {
     @Value("${app.otp.senderName}")
     private String senderName;
 
-    public void sendEmail(String toEmail, String subject, String htmlContent) throws Exception {
-        RestTemplate restTemplate = new RestTemplate();
+    // One client for all sends: the JDK client pools keep-alive connections and negotiates HTTP/2
+    private final RestTemplate restTemplate;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder ioErrors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public EmailService(@Value("${brevo.http.connectTimeoutMillis:3000}") long connectTimeoutMillis,
+                        @Value("${brevo.http.readTimeoutMillis:10000}") long readTimeoutMillis) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    public record Recipient(String email, String name) {
+    }
 
+    public void sendEmail(String toEmail, String subject, String htmlContent) throws Exception {
         Map<String, Object> payload = Map.of(
                 "sender", Map.of("email", senderEmail, "name", senderName),
                 "to", List.of(Map.of("email", toEmail)),
@@ -36,30 +67,73 @@ public class EmailService {
                 "htmlContent", htmlContent
         );
 
+        log.debug("[Brevo] Sending to {} from {} ({})", toEmail, senderEmail, senderName);
+        post(payload);
+    }
+
+    // One API call for many recipients; each gets its own message version so nobody sees the other addresses
+    public void sendBatch(List<Recipient> recipients, String subject, String htmlContent) throws Exception {
+        List<Map<String, Object>> versions = recipients.stream()
+                .map(r -> Map.<String, Object>of("to", List.of(r.name() != null
+                        ? Map.of("email", r.email(), "name", r.name())
+                        : Map.of("email", r.email()))))
+                .toList();
+        Map<String, Object> payload = Map.of(
+                "sender", Map.of("email", senderEmail, "name", senderName),
+                "subject", subject,
+                "htmlContent", htmlContent,
+                "messageVersions", versions
+        );
+
+        log.debug("[Brevo] Sending batch of {}", recipients.size());
+        post(payload);
+    }
+
+    private void post(Map<String, Object> payload) throws Exception {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.set("api-key", brevoApiKey.trim());
 
-        // 🔎 Debugging logs
-        System.out.println("[Brevo] Sending to: " + toEmail);
-        System.out.println("[Brevo] Sender: " + senderEmail + " (" + senderName + ")");
-        System.out.println("[Brevo] API Key starts with: " + brevoApiKey.substring(0, 8));
-
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
 
+        long start = System.nanoTime();
         try {
             ResponseEntity<String> resp = restTemplate.exchange(
-                    BREVO_API_URL, HttpMethod.POST, entity, String.class
+                    brevoApiUrl, HttpMethod.POST, entity, String.class
             );
 
-            System.out.println("[Brevo] Response: " + resp.getStatusCodeValue() + " - " + resp.getBody());
+            log.debug("[Brevo] Response: {} - {}", resp.getStatusCode().value(), resp.getBody());
 
             if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new Exception("Brevo API failed: HTTP " + resp.getStatusCodeValue() + " - " + resp.getBody());
+                throw new Exception("Brevo API failed: HTTP " + resp.getStatusCode().value() + " - " + resp.getBody());
             }
         } catch (HttpClientErrorException | HttpServerErrorException e) {
-            System.err.println("[Brevo] ERROR: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
+            if (e instanceof HttpClientErrorException) clientErrors.increment();
+            else serverErrors.increment();
+            log.warn("[Brevo] ERROR: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new Exception("Brevo API error: " + e.getStatusCode() + " - " + e.getResponseBodyAsString(), e);
+        } catch (ResourceAccessException e) {
+            // Connect/read timeouts and connection failures
+            ioErrors.increment();
+            log.warn("[Brevo] I/O error: {}", e.getMessage());
+            throw new Exception("Brevo API unreachable: " + e.getMessage(), e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            calls.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
         }
     }
+
+    public Map<String, Object> stats() {
+        long count = calls.sum();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("calls", count);
+        m.put("clientErrors", clientErrors.sum());
+        m.put("serverErrors", serverErrors.sum());
+        m.put("ioErrors", ioErrors.sum());
+        m.put("avgMillis", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count);
+        m.put("maxMillis", maxNanos.get() / 1_000_000.0);
+        return m;
+    }
 }
@@ -0,0 +1,234 @@
+package com.mentor.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mentor.backend.repository.BlogRepository;
+import com.mentor.backend.repository.BlogSummary;
+import com.mentor.backend.repository.GalleryRepository;
+
+/**
+ * RSS feed and sitemap. Both are written with a StAX writer (the feed while
+ * scrolling a forward-only repository cursor), then kept as bytes until a blog,
+ * announcement or gallery write calls {@link #invalidate()} (or the TTL passes,
+ * for writes made by other instances).
+ *
+ * The frontend has list pages only (/blogs, /gallery), so the sitemap lists
+ * those with the time of their newest change, and feed items link to the blog
+ * list. Announcements have no page and are left out.
+ */
+@Service
+public class FeedService {
+
+    public record Document(byte[] body, String etag) {
+    }
+
+    private record Cached(long version, long generatedAt, Document document) {
+    }
+
+    private static final String DC_NS = "http://purl.org/dc/elements/1.1/";
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private final BlogRepository blogRepository;
+    private final GalleryRepository galleryRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Cached rss;
+    private volatile Cached sitemap;
+
+    @Value("${app.site.baseUrl:https://mentorkrish.in}")
+    private String baseUrl;
+
+    @Value("${app.site.blogPath:/blogs}")
+    private String blogPath;
+
+    @Value("${app.site.galleryPath:/gallery}")
+    private String galleryPath;
+
+    @Value("${app.feed.maxItems:50}")
+    private int maxFeedItems;
+
+    @Value("${app.feed.ttlSeconds:300}")
+    private long ttlSeconds;
+
+    public FeedService(BlogRepository blogRepository,
+                       GalleryRepository galleryRepository,
+                       PlatformTransactionManager transactionManager) {
+        this.blogRepository = blogRepository;
+        this.galleryRepository = galleryRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // Inside a transaction the bump is repeated once it completes, so a feed built from the
+    // pre-commit rows is not kept under the new version
+    public void invalidate() {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    public Document getRssFeed() {
+        Cached cached = rss;
+        if (isFresh(cached)) return cached.document();
+        synchronized (this) {
+            cached = rss;
+            if (isFresh(cached)) return cached.document();
+            long current = version.get();
+            Document document = generate(this::writeRss);
+            rss = new Cached(current, System.nanoTime(), document);
+            return document;
+        }
+    }
+
+    public Document getSitemap() {
+        Cached cached = sitemap;
+        if (isFresh(cached)) return cached.document();
+        synchronized (this) {
+            cached = sitemap;
+            if (isFresh(cached)) return cached.document();
+            long current = version.get();
+            Document document = generate(this::writeSitemap);
+            sitemap = new Cached(current, System.nanoTime(), document);
+            return document;
+        }
+    }
+
+    private boolean isFresh(Cached cached) {
+        return cached != null && cached.version() == version.get()
+                && System.nanoTime() - cached.generatedAt() < TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    private interface XmlBody {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
+    private Document generate(XmlBody body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        readOnlyTx.executeWithoutResult(status -> {
+            try {
+                XMLStreamWriter xml = xmlOutputFactory.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+                xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+                body.write(xml);
+                xml.writeEndDocument();
+                xml.close();
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Failed to write XML document", e);
+            }
+        });
+        byte[] bytes = out.toByteArray();
+        return new Document(bytes, sha256(bytes));
+    }
+
+    private void writeRss(XMLStreamWriter xml) throws XMLStreamException {
+        String site = trimTrailingSlash(baseUrl);
+        xml.writeStartElement("rss");
+        xml.writeAttribute("version", "2.0");
+        xml.writeNamespace("dc", DC_NS);
+        xml.writeNamespace("atom", ATOM_NS);
+        xml.writeStartElement("channel");
+        element(xml, "title", "Mentor Krish Blog");
+        element(xml, "link", site + blogPath);
+        element(xml, "description", "Articles from Mentor Krish");
+        xml.writeEmptyElement("atom", "link", ATOM_NS);
+        xml.writeAttribute("href", site + "/api/blogs/feed.xml");
+        xml.writeAttribute("rel", "self");
+        xml.writeAttribute("type", "application/rss+xml");
+
+        try (Stream<BlogSummary> blogs = blogRepository.streamPublishedSummaries()) {
+            for (BlogSummary blog : (Iterable<BlogSummary>) blogs.limit(maxFeedItems)::iterator) {
+                xml.writeStartElement("item");
+                element(xml, "title", blog.getTitle());
+                // Posts have no page of their own: the list page opens them
+                element(xml, "link", site + blogPath);
+                xml.writeStartElement("guid");
+                // Unique per post, but not a URL anything serves
+                xml.writeAttribute("isPermaLink", "false");
+                xml.writeCharacters(site + blogPath + "#" + blog.getSlug());
+                xml.writeEndElement();
+                element(xml, "pubDate", DateTimeFormatter.RFC_1123_DATE_TIME
+                        .format(blog.getPublishedAt().atZone(ZoneId.systemDefault())));
+                if (blog.getExcerpt() != null) element(xml, "description", blog.getExcerpt());
+                if (blog.getAuthor() != null && !blog.getAuthor().isBlank()) {
+                    xml.writeStartElement("dc", "creator", DC_NS);
+                    xml.writeCharacters(blog.getAuthor());
+                    xml.writeEndElement();
+                }
+                xml.writeEndElement();
+            }
+        }
+
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void writeSitemap(XMLStreamWriter xml) throws XMLStreamException {
+        String site = trimTrailingSlash(baseUrl);
+        xml.writeStartElement("urlset");
+        xml.writeDefaultNamespace(SITEMAP_NS);
+        writeUrl(xml, site + blogPath, blogRepository.findLastPublishedChange());
+        writeUrl(xml, site + galleryPath, galleryRepository.findContentVersion().getLastModified());
+        xml.writeEndElement();
+    }
+
+    private void writeUrl(XMLStreamWriter xml, String loc, LocalDateTime lastModified) throws XMLStreamException {
+        xml.writeStartElement("url");
+        element(xml, "loc", loc);
+        if (lastModified != null) {
+            element(xml, "lastmod", w3cDate(lastModified));
+        }
+        xml.writeEndElement();
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text == null ? "" : text);
+        xml.writeEndElement();
+    }
+
+    private static String w3cDate(LocalDateTime time) {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(
+                time.withNano(0).atZone(ZoneId.systemDefault()).toOffsetDateTime());
+    }
+
+    private static String trimTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
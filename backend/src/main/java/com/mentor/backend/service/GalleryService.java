@@ -2,6 +2,8 @@ package com.mentor.backend.service;
 
 import com.mentor.backend.dto.GalleryRequest;
 import com.mentor.backend.entity.Gallery;
+import com.mentor.backend.entity.ImageMeta;
+import com.mentor.backend.repository.ContentVersion;
 import com.mentor.backend.repository.GalleryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -15,8 +17,9 @@ import java.util.List;
 public class GalleryService {
 
     private final GalleryRepository galleryRepository;
+    private final FeedService feedService;
 
-    public Gallery create(GalleryRequest req, String imageUrl) {
+    public Gallery create(GalleryRequest req, String imageUrl, ImageMeta imageMeta) {
         Gallery gallery = Gallery.builder()
                 .title(req.getTitle())
                 .subtitle(req.getSubtitle())
@@ -24,12 +27,20 @@ public class GalleryService {
                 .tag(req.getTag())
                 .layoutType(req.getLayoutType())
                 .filename(imageUrl) // store Cloudinary URL instead of local filename
+                .imageMeta(imageMeta)
+                .imagePending(imageUrl == null) // every item has an image; none yet means an async upload
                 .build();
-        return galleryRepository.save(gallery);
+        Gallery saved = galleryRepository.save(gallery);
+        feedService.invalidate();
+        return saved;
     }
 
     public List<Gallery> getAll() {
-        return galleryRepository.findAll();
+        return galleryRepository.findByImagePendingFalse();
+    }
+
+    public ContentVersion getContentVersion() {
+        return galleryRepository.findContentVersion();
     }
 
     public Gallery getById(Long id) {
@@ -38,18 +49,34 @@ public class GalleryService {
                         "Gallery item not found with id: " + id));
     }
 
-    public Gallery update(Long id, GalleryRequest req, String imageUrl) {
+    public Gallery update(Long id, GalleryRequest req, String imageUrl, ImageMeta imageMeta) {
         Gallery existing = getById(id);
         if (req.getTitle() != null) existing.setTitle(req.getTitle());
         if (req.getSubtitle() != null) existing.setSubtitle(req.getSubtitle());
         if (req.getDescription() != null) existing.setDescription(req.getDescription());
         if (req.getTag() != null) existing.setTag(req.getTag());
         if (req.getLayoutType() != null) existing.setLayoutType(req.getLayoutType());
-        if (imageUrl != null) existing.setFilename(imageUrl); // update Cloudinary image
-        return galleryRepository.save(existing);
+        if (imageUrl != null) {
+            existing.setFilename(imageUrl); // update Cloudinary image
+            existing.setImageMeta(imageMeta);
+            existing.setImagePending(false);
+        }
+        Gallery saved = galleryRepository.save(existing);
+        feedService.invalidate();
+        return saved;
+    }
+
+    public void attachImage(Long id, String imageUrl, ImageMeta imageMeta) {
+        Gallery existing = getById(id);
+        existing.setFilename(imageUrl);
+        existing.setImageMeta(imageMeta);
+        existing.setImagePending(false);
+        galleryRepository.save(existing);
+        feedService.invalidate();
     }
 
     public void delete(Long id) {
         galleryRepository.delete(getById(id));
+        feedService.invalidate();
     }
 }
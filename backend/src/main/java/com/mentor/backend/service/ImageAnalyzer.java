@@ -0,0 +1,153 @@
+package com.mentor.backend.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mentor.backend.entity.ImageMeta;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads what the frontend needs to lay out an image before it loads: intrinsic
+ * size, dominant color and a tiny blurred-up placeholder. The image is decoded
+ * with heavy subsampling (a few hundred pixels at most), so this is cheap even
+ * for large photos. Non-images yield null.
+ */
+@Slf4j
+@Component
+public class ImageAnalyzer {
+
+    private static final int SAMPLE_SIZE = 256;
+
+    private final int placeholderSize;
+    private final long maxSourcePixels;
+
+    public ImageAnalyzer(@Value("${app.image.placeholderSize:16}") int placeholderSize,
+                         @Value("${app.image.maxSourcePixels:100000000}") long maxSourcePixels) {
+        this.placeholderSize = placeholderSize;
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    public ImageMeta analyze(Path path) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+
+            int width;
+            int height;
+            BufferedImage sample;
+            String format;
+            try {
+                reader.setInput(in, true, true);
+                format = reader.getFormatName().toLowerCase();
+                width = reader.getWidth(0);
+                height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) return null;
+
+                int factor = ImageNormalizer.subsampling(width, height, SAMPLE_SIZE);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                sample = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+
+            if (format.equals("jpeg")) {
+                int orientation = ImageNormalizer.exifOrientation(path);
+                sample = ImageNormalizer.orient(sample, orientation);
+                if (orientation >= 5) {
+                    int swap = width;
+                    width = height;
+                    height = swap;
+                }
+            }
+
+            return ImageMeta.builder()
+                    .width(width)
+                    .height(height)
+                    .dominantColor(dominantColor(sample))
+                    .placeholder(placeholder(sample))
+                    .build();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not analyze {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    // Most populated bucket of a 4-bit-per-channel histogram, averaged; ignores transparent pixels
+    private static String dominantColor(BufferedImage image) {
+        int[] counts = new int[4096];
+        long[] r = new long[4096];
+        long[] g = new long[4096];
+        long[] b = new long[4096];
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int argb = image.getRGB(x, y);
+                if ((argb >>> 24) < 128) continue;
+                int red = argb >> 16 & 0xFF, green = argb >> 8 & 0xFF, blue = argb & 0xFF;
+                int bucket = (red >> 4) << 8 | (green >> 4) << 4 | blue >> 4;
+                counts[bucket]++;
+                r[bucket] += red;
+                g[bucket] += green;
+                b[bucket] += blue;
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best]) best = i;
+        }
+        if (counts[best] == 0) return null;
+        return String.format("#%02x%02x%02x",
+                r[best] / counts[best], g[best] / counts[best], b[best] / counts[best]);
+    }
+
+    private String placeholder(BufferedImage image) throws IOException {
+        double scale = (double) placeholderSize / Math.max(image.getWidth(), image.getHeight());
+        int w = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int h = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage tiny = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = tiny.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, w, h);
+            g.drawImage(image, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream out = new MemoryCacheImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.5f);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(tiny, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,357 @@
+package com.mentor.backend.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional pre-upload pass for JPEG and PNG images (app.image.normalize.enabled):
+ * applies the EXIF orientation, scales the long side down to maxDimension,
+ * and re-encodes without metadata (JPEG at the target quality; PNGs with
+ * transparency stay PNG). Anything else, and any result that is not smaller
+ * than the original, is uploaded untouched.
+ *
+ * Decoding uses source subsampling so a 48 MP photo is never fully expanded in
+ * memory, and work runs on a small bounded pool; if the pool is saturated or
+ * an image takes too long the original is uploaded instead. Upload analysis
+ * shares the pool through {@link #call}.
+ */
+@Slf4j
+@Component
+public class ImageNormalizer {
+
+    private final boolean enabled;
+    private final int maxDimension;
+    private final float quality;
+    private final long maxSourcePixels;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder normalized = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    public ImageNormalizer(@Value("${app.image.normalize.enabled:false}") boolean enabled,
+                           @Value("${app.image.maxDimension:2048}") int maxDimension,
+                           @Value("${app.image.quality:0.82}") float quality,
+                           @Value("${app.image.maxSourcePixels:100000000}") long maxSourcePixels,
+                           @Value("${app.image.threads:2}") int threads,
+                           @Value("${app.image.queueCapacity:8}") int queueCapacity,
+                           @Value("${app.image.timeoutMillis:20000}") long timeoutMillis) {
+        this.enabled = enabled;
+        this.maxDimension = maxDimension;
+        this.quality = quality;
+        this.maxSourcePixels = maxSourcePixels;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-normalize-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Returns a new temp file holding the normalized image, or {@code source}
+     * itself when there is nothing to gain. The caller deletes a returned file
+     * that differs from {@code source}.
+     */
+    public Path normalize(Path source) {
+        if (!enabled) return source;
+        // Whoever sets this first owns the output: the task publishes it, or the caller gives up
+        // (storing source), in which case the task deletes what it wrote
+        AtomicReference<Path> handoff = new AtomicReference<>();
+        Future<Path> future;
+        try {
+            future = executor.submit(() -> {
+                Path out = process(source);
+                if (!handoff.compareAndSet(null, out) && out != source) Files.deleteIfExists(out);
+                return out;
+            });
+        } catch (RejectedExecutionException e) {
+            skipped.increment();
+            return source;
+        }
+        try {
+            Path result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (result == source) skipped.increment();
+            return result;
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            Path finished = handoff.getAndSet(source);
+            if (finished != null && finished != source) {
+                return finished; // done just as the wait ran out
+            }
+            // ImageIO ignores interrupts; process checks between stages and the handoff cleans up
+            future.cancel(true);
+        } catch (Exception e) {
+            log.warn("Image normalization failed, uploading original: {}", e.getMessage());
+        }
+        skipped.increment();
+        return source;
+    }
+
+    /**
+     * Runs other decoding work (upload analysis) on the same bounded pool and timeout,
+     * returning {@code fallback} when the pool is saturated, the work fails or it runs too long.
+     */
+    public <T> T call(Callable<T> work, T fallback) {
+        Future<T> future;
+        try {
+            future = executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            return fallback;
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Image task failed: {}", e.getMessage());
+        }
+        return fallback;
+    }
+
+    private Path process(Path source) throws IOException {
+        long sourceSize = Files.size(source);
+        BufferedImage image;
+        String format;
+
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) return source;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return source;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true); // ignore metadata: we never carry it over
+                format = reader.getFormatName().toLowerCase();
+                if (!format.equals("jpeg") && !format.equals("png")) return source;
+
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) return source;
+
+                // Decode at no more than twice the target size; the final resize smooths the rest
+                int factor = subsampling(width, height, 2 * maxDimension);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                image = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        if (format.equals("jpeg")) {
+            image = orient(image, exifOrientation(source));
+        }
+        image = resize(image);
+        if (Thread.interrupted()) return source; // given up on while decoding
+
+        boolean keepAlpha = image.getColorModel().hasAlpha();
+        Path out = Files.createTempFile("normalized-", keepAlpha ? ".png" : ".jpg");
+        try {
+            if (keepAlpha) {
+                ImageIO.write(image, "png", out.toFile());
+            } else {
+                writeJpeg(toRgb(image), out);
+            }
+            long outSize = Files.size(out);
+            if (Thread.interrupted() || outSize >= sourceSize) {
+                Files.deleteIfExists(out);
+                return source;
+            }
+            normalized.increment();
+            bytesIn.add(sourceSize);
+            bytesOut.add(outSize);
+            return out;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(out);
+            throw e;
+        }
+    }
+
+    private BufferedImage resize(BufferedImage src) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        int longest = Math.max(width, height);
+        if (longest <= maxDimension) return src;
+
+        double scale = (double) maxDimension / longest;
+        int w = Math.max(1, (int) Math.round(width * scale));
+        int h = Math.max(1, (int) Math.round(height * scale));
+        BufferedImage dst = new BufferedImage(w, h,
+                src.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private static BufferedImage toRgb(BufferedImage src) {
+        if (src.getType() == BufferedImage.TYPE_INT_RGB) return src;
+        BufferedImage dst = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, src.getWidth(), src.getHeight());
+            g.drawImage(src, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private void writeJpeg(BufferedImage image, Path out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // Smallest factor that brings the long side to at most target; rounded up, so an image just
+    // over the target is halved rather than decoded in full
+    static int subsampling(int width, int height, int target) {
+        return Math.max(1, Math.ceilDiv(Math.max(width, height), target));
+    }
+
+    // Pixels are stored as shot; EXIF orientation says how to display them. Bake it in before EXIF is dropped.
+    static BufferedImage orient(BufferedImage src, int orientation) {
+        if (orientation < 2 || orientation > 8) return src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+        AffineTransform t = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // mirror horizontally
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // rotate 180
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // mirror vertically
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // rotate 90 clockwise
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transverse
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // 8: rotate 90 counter-clockwise
+        };
+        boolean swap = orientation >= 5;
+        BufferedImage dst = new BufferedImage(swap ? h : w, swap ? w : h,
+                src.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.drawImage(src, t, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    // Reads the Orientation tag (0x0112) from IFD0 of the JPEG's APP1 Exif segment; 1 when absent
+    static int exifOrientation(Path path) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readUnsignedShort() != 0xFFD8) return 1;
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) return 1;
+                int length = in.readUnsignedShort() - 2;
+                if (marker == 0xFFE1) {
+                    int orientation = parseExifOrientation(in.readNBytes(length));
+                    if (orientation > 0) return orientation;
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    private static int parseExifOrientation(byte[] s) {
+        if (s.length < 14 || s[0] != 'E' || s[1] != 'x' || s[2] != 'i' || s[3] != 'f') return 0;
+        int tiff = 6;
+        boolean le = s[tiff] == 'I';
+        int ifd = tiff + (int) u32(s, tiff + 4, le);
+        if (ifd + 2 > s.length) return 0;
+        int count = u16(s, ifd, le);
+        for (int i = 0; i < count; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > s.length) break;
+            if (u16(s, entry, le) == 0x0112) return u16(s, entry + 8, le);
+        }
+        return 1;
+    }
+
+    private static int u16(byte[] b, int i, boolean le) {
+        return le ? (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8
+                  : (b[i] & 0xFF) << 8 | (b[i + 1] & 0xFF);
+    }
+
+    private static long u32(byte[] b, int i, boolean le) {
+        return le ? (u16(b, i, true) & 0xFFFFL) | (long) u16(b, i + 2, true) << 16
+                  : (long) u16(b, i, false) << 16 | (u16(b, i + 2, false) & 0xFFFFL);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("normalized", normalized.sum());
+        m.put("skipped", skipped.sum());
+        m.put("bytesIn", bytesIn.sum());
+        m.put("bytesOut", bytesOut.sum());
+        m.put("queueDepth", executor.getQueue().size());
+        return m;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
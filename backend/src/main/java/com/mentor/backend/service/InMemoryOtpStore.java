@@ -0,0 +1,148 @@
+package com.mentor.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * OTPs held in process memory, so verification never touches the connection
+ * pool (sending still writes its email_outbox row). Only valid for a single
+ * node: another instance would not see the code. An issue made inside a
+ * transaction is undone if that transaction rolls back, so a failed send does
+ * not leave the cooldown armed.
+ *
+ * Entries are dropped by a hashed timing wheel: each issue schedules a timeout
+ * at max(expiry, cooldown end), the ticker thread places it in slot
+ * (tick + ticks) % slots with the number of full rotations left, and each tick
+ * expires one slot. Cost per tick is proportional to that slot only.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private record Entry(String otp, long expiresAtNanos, long cooldownEndsNanos) {
+    }
+
+    private static final class Timeout {
+        final String email;
+        final Entry entry;
+        final long deadlineNanos;
+        long rounds;
+
+        Timeout(String email, Entry entry, long deadlineNanos) {
+            this.email = email;
+            this.entry = entry;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final List<ArrayDeque<Timeout>> wheel;
+    private final long tickNanos;
+    private final ScheduledExecutorService ticker;
+    private long tick; // ticker thread only
+
+    public InMemoryOtpStore(@Value("${app.otp.memory.wheelSlots:512}") int slots,
+                            @Value("${app.otp.memory.tickMillis:1000}") long tickMillis) {
+        this.wheel = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) wheel.add(new ArrayDeque<>());
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "otp-timing-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Duration issue(String email, String otp, Duration ttl, Duration cooldown) {
+        long now = System.nanoTime();
+        Entry fresh = new Entry(otp, now + ttl.toNanos(), now + cooldown.toNanos());
+        long[] waitNanos = {0};
+
+        Entry stored = entries.compute(email, (k, existing) -> {
+            if (existing != null && existing.cooldownEndsNanos() - now > 0) {
+                waitNanos[0] = existing.cooldownEndsNanos() - now;
+                return existing;
+            }
+            return fresh;
+        });
+
+        if (stored != fresh) return Duration.ofNanos(waitNanos[0]);
+        pending.add(new Timeout(email, fresh, Math.max(fresh.expiresAtNanos(), fresh.cooldownEndsNanos())));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) entries.remove(email, fresh);
+                }
+            });
+        }
+        return Duration.ZERO;
+    }
+
+    @Override
+    public boolean consume(String email, String otp) {
+        long now = System.nanoTime();
+        boolean[] valid = {false};
+        entries.computeIfPresent(email, (k, e) -> {
+            if (e.otp().equals(otp) && e.expiresAtNanos() - now > 0) {
+                valid[0] = true;
+                return null; // one-time use
+            }
+            return e;
+        });
+        return valid[0];
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void advance() {
+        long now = System.nanoTime();
+        Timeout t;
+        while ((t = pending.poll()) != null) {
+            long ticks = Math.max(1, (t.deadlineNanos - now + tickNanos - 1) / tickNanos);
+            t.rounds = (ticks - 1) / wheel.size();
+            wheel.get((int) ((tick + ticks) % wheel.size())).add(t);
+        }
+
+        tick++;
+        Iterator<Timeout> it = wheel.get((int) (tick % wheel.size())).iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                continue;
+            }
+            it.remove();
+            // Only drops the entry this timeout was scheduled for; a newer issue keeps its own
+            entries.remove(timeout.email, timeout.entry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+}
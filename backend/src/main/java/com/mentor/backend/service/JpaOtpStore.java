@@ -0,0 +1,42 @@
+package com.mentor.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mentor.backend.repository.OtpVerificationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Issue and verify are each one conditional statement, so concurrent sends on several nodes cannot both pass the cooldown
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaOtpStore implements OtpStore {
+
+    private final OtpVerificationRepository otpRepository;
+
+    @Override
+    @Transactional
+    public Duration issue(String email, String otp, Duration ttl, Duration cooldown) {
+        if (otpRepository.issueIfCooledDown(email, otp, ttl.toSeconds(), cooldown.toSeconds()).isPresent()) {
+            return Duration.ZERO;
+        }
+
+        // Rejected: only this path pays for a second read, to tell the user how long to wait
+        Duration wait = otpRepository.findByEmail(email)
+                .filter(rec -> rec.getLastSentAt() != null)
+                .map(rec -> Duration.between(LocalDateTime.now(), rec.getLastSentAt().plus(cooldown)))
+                .orElse(Duration.ZERO);
+        return wait.compareTo(Duration.ofSeconds(1)) < 0 ? Duration.ofSeconds(1) : wait;
+    }
+
+    @Override
+    @Transactional
+    public boolean consume(String email, String otp) {
+        return otpRepository.consumeIfValid(email, otp).isPresent();
+    }
+}
@@ -0,0 +1,70 @@
+package com.mentor.backend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Writes a repository stream to the response as a JSON array, one element at a
+ * time. Rows are read through a forward-only cursor inside a read-only
+ * transaction and the persistence context is cleared as it goes, so heap use
+ * stays flat no matter how many rows the table has.
+ */
+@Component
+public class JsonStreamWriter {
+
+    private static final int CLEAR_EVERY = 200;
+
+    private final ObjectWriter writer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JsonStreamWriter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /** The source is opened lazily, inside the transaction, when the response body is written. */
+    public <T> StreamingResponseBody stream(Supplier<Stream<T>> source, Function<T, ?> mapper) {
+        return out -> readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<T> rows = source.get();
+                 JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.writeStartArray();
+                Iterator<T> it = rows.iterator();
+                int written = 0;
+                while (it.hasNext()) {
+                    writer.writeValue(json, mapper.apply(it.next()));
+                    if (++written % CLEAR_EVERY == 0) {
+                        entityManager.clear();
+                        json.flush();
+                    }
+                }
+                json.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package com.mentor.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mentor.backend.repository.OtpVerificationRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes expired otp_verifications rows (abandoned sign-ups, codes never
+ * verified) in small batches with a pause in between, so the job never holds
+ * many row locks at once. Rows are kept for a grace period past expiry so a
+ * cooldown longer than the OTP lifetime still applies.
+ *
+ * The batch loop sleeps between batches, so it runs on the job's own thread:
+ * Spring's scheduler has a single thread shared by every @Scheduled job, and
+ * a backlog run would otherwise stall them for up to maxBatches x pauseMillis.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "jpa", matchIfMissing = true)
+public class OtpPurgeJob {
+
+    private final OtpVerificationRepository otpRepository;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int maxBatches;
+    private final long graceSeconds;
+
+    private final ExecutorService runner;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+    private volatile int lastRunPurged;
+    private volatile long lastRunMillis;
+    private volatile LocalDateTime lastRunAt;
+
+    public OtpPurgeJob(OtpVerificationRepository otpRepository,
+                       @Value("${app.otp.purge.batchSize:500}") int batchSize,
+                       @Value("${app.otp.purge.pauseMillis:200}") long pauseMillis,
+                       @Value("${app.otp.purge.maxBatches:100}") int maxBatches,
+                       @Value("${app.otp.cooldownSeconds:60}") long cooldownSeconds) {
+        this.otpRepository = otpRepository;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.maxBatches = maxBatches;
+        this.graceSeconds = cooldownSeconds;
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "otp-purge");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Hands the run to the job's thread; a tick that finds the previous run still going is skipped
+    @Scheduled(initialDelayString = "${app.otp.purge.initialDelayMillis:60000}",
+               fixedDelayString = "${app.otp.purge.intervalMillis:900000}")
+    public void schedulePurge() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            runner.execute(() -> {
+                try {
+                    purgeExpired();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false); // shutting down
+        }
+    }
+
+    void purgeExpired() {
+        long start = System.nanoTime();
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int deleted = otpRepository.deleteExpiredBatch(graceSeconds, batchSize);
+                total += deleted;
+                if (deleted < batchSize) break;
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("OTP purge failed after {} rows: {}", total, e.getMessage());
+        } finally {
+            runs.increment();
+            purged.add(total);
+            lastRunPurged = total;
+            lastRunMillis = (System.nanoTime() - start) / 1_000_000;
+            lastRunAt = LocalDateTime.now();
+        }
+        if (total > 0) log.info("Purged {} expired OTP rows in {} ms", total, lastRunMillis);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("runs", runs.sum());
+        m.put("purgedTotal", purged.sum());
+        m.put("lastRunPurged", lastRunPurged);
+        m.put("lastRunMillis", lastRunMillis);
+        m.put("lastRunAt", lastRunAt);
+        return m;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+}
@@ -1,22 +1,19 @@
 package com.mentor.backend.service;
 
-import com.mentor.backend.entity.OtpVerification;
-import com.mentor.backend.repository.OtpVerificationRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
+import java.time.Duration;
 import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
 public class OtpService {
 
-    private final OtpVerificationRepository otpRepository;
-    private final EmailService emailService;
+    private final OtpStore otpStore;
+    private final EmailOutboxService emailOutboxService;
 
     @Value("${app.otp.expMinutes:5}")
     private int otpExpMinutes;
@@ -31,35 +28,19 @@ public class OtpService {
     }
 
     // Backwards-compatible alias
-    public void generateAndSendOtp(String email) throws Exception {
+    public void generateAndSendOtp(String email) {
         sendOtp(email);
     }
 
-    public void sendOtp(String email) throws Exception {
-        LocalDateTime now = LocalDateTime.now();
-        Optional<OtpVerification> existingOpt = otpRepository.findByEmail(email);
-
-        if (existingOpt.isPresent()) {
-            OtpVerification existing = existingOpt.get();
-            if (existing.getLastSentAt() != null &&
-                    existing.getLastSentAt().plusSeconds(cooldownSeconds).isAfter(now)) {
-                long wait = java.time.Duration
-                        .between(now, existing.getLastSentAt().plusSeconds(cooldownSeconds))
-                        .toSeconds();
-                throw new IllegalStateException("Please wait " + wait + " seconds before requesting a new OTP.");
-            }
-        }
-
+    // The OTP row and its outbox email commit together; delivery happens off the request thread
+    @Transactional
+    public void sendOtp(String email) {
         String otp = generateOtp();
-        LocalDateTime expiresAt = now.plusMinutes(otpExpMinutes);
-
-        OtpVerification entity = existingOpt.orElseGet(() ->
-                OtpVerification.builder().email(email).build()
-        );
-        entity.setOtp(otp);
-        entity.setExpiryTime(expiresAt);
-        entity.setLastSentAt(now);
-        otpRepository.save(entity);
+        Duration wait = otpStore.issue(email, otp,
+                Duration.ofMinutes(otpExpMinutes), Duration.ofSeconds(cooldownSeconds));
+        if (!wait.isZero()) {
+            throw new IllegalStateException("Please wait " + wait.toSeconds() + " seconds before requesting a new OTP.");
+        }
 
         String subject = "Your OTP Code";
         String html = """
@@ -74,28 +55,15 @@ public class OtpService {
             </div>
         """.formatted(otp, otpExpMinutes);
 
-        emailService.sendEmail(email, subject, html);
+        emailOutboxService.enqueue(email, subject, html);
     }
 
-    public void resendOtp(String email) throws Exception {
+    public void resendOtp(String email) {
         // Cooldown enforced in sendOtp()
         sendOtp(email);
     }
 
-    @Transactional  // ✅ FIX: ensures delete runs inside a transaction
     public boolean verifyOtp(String email, String otp) {
-        Optional<OtpVerification> recOpt = otpRepository.findByEmail(email);
-        if (recOpt.isEmpty()) return false;
-
-        OtpVerification rec = recOpt.get();
-        LocalDateTime now = LocalDateTime.now();
-
-        boolean valid = rec.getOtp().equals(otp) && rec.getExpiryTime().isAfter(now);
-
-        if (valid) {
-            otpRepository.deleteByEmail(email); // one-time use
-            return true;
-        }
-        return false;
+        return otpStore.consume(email, otp);
     }
 }
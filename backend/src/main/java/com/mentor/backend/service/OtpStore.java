@@ -0,0 +1,20 @@
+package com.mentor.backend.service;
+
+import java.time.Duration;
+
+/**
+ * Where issued OTPs live between send and verify. Selected with app.otp.store:
+ * "jpa" (default, otp_verifications table) or "memory" (single node only).
+ */
+public interface OtpStore {
+
+    /**
+     * Stores {@code otp} for {@code email} unless the previous send is still inside
+     * its cooldown. Returns {@link Duration#ZERO} when stored, otherwise the
+     * remaining cooldown.
+     */
+    Duration issue(String email, String otp, Duration ttl, Duration cooldown);
+
+    /** Removes and accepts the OTP if it matches and has not expired (one-time use). */
+    boolean consume(String email, String otp);
+}
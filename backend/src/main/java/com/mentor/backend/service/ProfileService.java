@@ -12,9 +12,10 @@ import org.springframework.stereotype.Service;
 public class ProfileService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     public ProfileResponse getProfile(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = userCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         return new ProfileResponse(
@@ -40,6 +41,7 @@ public class ProfileService {
         user.setAddressLine3(req.getAddressLine3());
 
         userRepository.save(user);
+        userCache.evict(email);
 
         return new ProfileResponse(
                 user.getEmail(),
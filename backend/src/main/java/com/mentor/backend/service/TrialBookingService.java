@@ -6,16 +6,16 @@ import com.mentor.backend.entity.TrialBooking;
 import com.mentor.backend.repository.TrialBookingRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TrialBookingService {
 
     private final TrialBookingRepository trialBookingRepository;
+    private final JsonStreamWriter jsonStreamWriter;
 
     public TrialBookingResponse createBooking(TrialBookingRequest request) {
         TrialBooking booking = TrialBooking.builder()
@@ -33,11 +33,9 @@ public class TrialBookingService {
         return toResponse(saved);
     }
 
-    public List<TrialBookingResponse> getAllBookings() {
-        return trialBookingRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    // Admin export, written row by row from a DB cursor
+    public StreamingResponseBody streamAllBookings() {
+        return jsonStreamWriter.stream(trialBookingRepository::streamAll, this::toResponse);
     }
 
     private TrialBookingResponse toResponse(TrialBooking booking) {
@@ -0,0 +1,295 @@
+package com.mentor.backend.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.mentor.backend.dto.UploadJobResponse;
+import com.mentor.backend.entity.UploadJob;
+import com.mentor.backend.exception.ResourceNotFoundException;
+import com.mentor.backend.repository.UploadJobRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Async media uploads. The request spools the file to local disk, saves the
+ * target entity without its image together with an upload_jobs row (one
+ * transaction) and returns; a small worker pool sends the file to Cloudinary
+ * and patches the entity with the URL. A newly created entity is flagged
+ * image_pending and stays out of public reads until then. Permits
+ * (workers + queueCapacity) bound the backlog: with none left the request gets
+ * 429 before anything is saved.
+ *
+ * A failed job keeps its spool file, so it can be retried from
+ * POST /api/uploads/{id}/retry for app.upload.failedRetentionHours.
+ */
+@Slf4j
+@Service
+public class UploadService {
+
+    public record Accepted<E>(E entity, UploadJobResponse job) {
+    }
+
+    private static final List<String> UNFINISHED = List.of(UploadJob.PENDING, UploadJob.UPLOADING);
+
+    private final UploadJobRepository jobRepository;
+    private final CloudinaryService cloudinaryService;
+    private final BlogService blogService;
+    private final AnnouncementService announcementService;
+    private final GalleryService galleryService;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Path spoolDir;
+    private final Semaphore permits;
+    private final ExecutorService workers;
+    private final long staleMinutes;
+    private final long failedRetentionHours;
+
+    public UploadService(UploadJobRepository jobRepository,
+                         CloudinaryService cloudinaryService,
+                         BlogService blogService,
+                         AnnouncementService announcementService,
+                         GalleryService galleryService,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.upload.spoolDir:${java.io.tmpdir}/mentor-uploads}") String spoolDir,
+                         @Value("${app.upload.async.workers:2}") int workerCount,
+                         @Value("${app.upload.async.queueCapacity:20}") int queueCapacity,
+                         @Value("${app.upload.async.staleMinutes:60}") long staleMinutes,
+                         @Value("${app.upload.failedRetentionHours:72}") long failedRetentionHours) throws IOException {
+        this.jobRepository = jobRepository;
+        this.cloudinaryService = cloudinaryService;
+        this.blogService = blogService;
+        this.announcementService = announcementService;
+        this.galleryService = galleryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.spoolDir = Files.createDirectories(Paths.get(spoolDir));
+        this.permits = new Semaphore(workerCount + queueCapacity);
+        this.staleMinutes = staleMinutes;
+        this.failedRetentionHours = failedRetentionHours;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "upload-worker-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Spools {@code file}, persists the target via {@code persist} and queues the upload.
+     * The target and its job row commit together, so a failed insert leaves no orphan.
+     */
+    public <E> Accepted<E> submit(MultipartFile file, String targetType,
+                                  Supplier<E> persist, Function<E, Long> idOf) throws IOException {
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Upload queue is full, please retry shortly.");
+        }
+
+        Path spool = null;
+        Accepted<E> accepted;
+        try {
+            spool = Files.createTempFile(spoolDir, "upload-", ".bin");
+            String contentHash = cloudinaryService.spool(file, spool);
+            long size = Files.size(spool);
+            String spoolPath = spool.toString();
+
+            accepted = transactionTemplate.execute(status -> {
+                E entity = persist.get();
+                LocalDateTime now = LocalDateTime.now();
+                UploadJob job = jobRepository.save(UploadJob.builder()
+                        .status(UploadJob.PENDING)
+                        .targetType(targetType)
+                        .targetId(idOf.apply(entity))
+                        .spoolPath(spoolPath)
+                        .contentHash(contentHash)
+                        .originalFilename(file.getOriginalFilename())
+                        .sizeBytes(size)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+                return new Accepted<>(entity, toResponse(job));
+            });
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            if (spool != null) Files.deleteIfExists(spool);
+            throw e;
+        }
+        // Queued after commit so the worker sees both rows
+        Long jobId = accepted.job().getId();
+        workers.execute(() -> jobRepository.findById(jobId).ifPresent(this::process));
+        return accepted;
+    }
+
+    public UploadJobResponse getJob(Long id) {
+        return toResponse(findJob(id));
+    }
+
+    public List<UploadJobResponse> getJobs(String status) {
+        return jobRepository.findByStatusOrderByIdDesc(status).stream().map(this::toResponse).toList();
+    }
+
+    // Re-queues a failed job from its kept spool file; only the node that spooled it can
+    public UploadJobResponse retry(Long id) {
+        UploadJob job = findJob(id);
+        if (!UploadJob.FAILED.equals(job.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Only failed uploads can be retried");
+        }
+        if (job.getSpoolPath() == null || !Files.exists(Paths.get(job.getSpoolPath()))) {
+            throw new ResponseStatusException(HttpStatus.GONE,
+                    "The uploaded file is no longer available, upload the image again");
+        }
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Upload queue is full, please retry shortly.");
+        }
+        // A double-clicked retry reads the same FAILED row; only the first claim queues a worker
+        if (jobRepository.transition(id, UploadJob.FAILED, job.getUpdatedAt(),
+                UploadJob.PENDING, null, LocalDateTime.now()) == 0) {
+            permits.release();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "This upload is already being retried");
+        }
+        UploadJob claimed = findJob(id);
+        workers.execute(() -> process(claimed));
+        return toResponse(claimed);
+    }
+
+    private UploadJob findJob(Long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload job not found with id: " + id));
+    }
+
+    // Jobs whose spool file survived a restart are picked up again; ones spooled elsewhere are failed once stale
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleMinutes);
+        for (UploadJob job : jobRepository.findByStatusIn(UNFINISHED)) {
+            if (job.getSpoolPath() != null && Files.exists(Paths.get(job.getSpoolPath()))) {
+                if (permits.tryAcquire()) {
+                    workers.execute(() -> process(job));
+                } else {
+                    log.warn("Upload queue full at startup, job {} waits for the next restart", job.getId());
+                }
+            } else if (job.getUpdatedAt() == null || job.getUpdatedAt().isBefore(staleBefore)) {
+                // Conditional, so a node that is still working on it is not overwritten
+                jobRepository.transition(job.getId(), job.getStatus(), job.getUpdatedAt(),
+                        UploadJob.FAILED, "Spooled file is no longer available", LocalDateTime.now());
+            }
+        }
+    }
+
+    private void process(UploadJob job) {
+        // Queued twice (retry, restart resume, another node sharing the spool dir): the first claim runs it
+        if (jobRepository.transition(job.getId(), job.getStatus(), job.getUpdatedAt(),
+                UploadJob.UPLOADING, null, LocalDateTime.now()) == 0) {
+            log.info("Upload job {} was already taken by another worker", job.getId());
+            permits.release();
+            return;
+        }
+        job = jobRepository.findById(job.getId()).orElse(null);
+        if (job == null) {
+            permits.release();
+            return;
+        }
+        Path spool = Paths.get(job.getSpoolPath());
+        try {
+            CloudinaryService.UploadedMedia media = cloudinaryService.upload(spool, job.getContentHash());
+            attach(job.getTargetType(), job.getTargetId(), media);
+
+            deleteSpool(spool);
+            job.setStatus(UploadJob.DONE);
+            job.setUrl(media.url());
+            job.setSpoolPath(null);
+            job.setCompletedAt(LocalDateTime.now());
+            save(job);
+        } catch (Exception e) {
+            // The spool file stays for a retry; the target keeps its pending flag
+            log.warn("Upload job {} failed: {}", job.getId(), e.getMessage());
+            job.setStatus(UploadJob.FAILED);
+            String error = e.getMessage();
+            job.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            save(job);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Failed uploads nobody retried give their disk space back
+    @Scheduled(initialDelayString = "${app.upload.cleanup.initialDelayMillis:300000}",
+               fixedDelayString = "${app.upload.cleanup.intervalMillis:3600000}")
+    public void purgeFailedSpools() {
+        LocalDateTime before = LocalDateTime.now().minusHours(failedRetentionHours);
+        for (UploadJob job : jobRepository.findByStatusAndSpoolPathIsNotNullAndUpdatedAtBefore(UploadJob.FAILED, before)) {
+            Path spool = Paths.get(job.getSpoolPath());
+            if (!spool.startsWith(spoolDir)) continue; // spooled on another node
+            deleteSpool(spool);
+            job.setSpoolPath(null);
+            save(job);
+        }
+    }
+
+    private void deleteSpool(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Could not delete spool file {}: {}", spool, e.getMessage());
+        }
+    }
+
+    // Sets the image and clears the target's pending flag
+    private void attach(String targetType, Long targetId, CloudinaryService.UploadedMedia media) {
+        switch (targetType) {
+            case UploadJob.BLOG -> blogService.attachImage(targetId, media.url(), media.imageMeta());
+            case UploadJob.ANNOUNCEMENT -> announcementService.attachImage(targetId, media.url(), media.imageMeta());
+            case UploadJob.GALLERY -> galleryService.attachImage(targetId, media.url(), media.imageMeta());
+            default -> throw new IllegalStateException("Unknown upload target: " + targetType);
+        }
+    }
+
+    private void save(UploadJob job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    private UploadJobResponse toResponse(UploadJob job) {
+        return UploadJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .targetType(job.getTargetType())
+                .targetId(job.getTargetId())
+                .originalFilename(job.getOriginalFilename())
+                .sizeBytes(job.getSizeBytes())
+                .url(job.getUrl())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+
+    // Queued and in-flight jobs keep their spool files and resume on the next start
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,126 @@
+package com.mentor.backend.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mentor.backend.entity.User;
+import com.mentor.backend.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Users by email and by Firebase uid for read-only lookups (principal loading,
+ * profile reads, Firebase provisioning). Bounded by size and TTL; every code
+ * path that writes a user evicts its entries.
+ * Cached instances are shared, so callers that modify a user must load it from
+ * UserRepository instead.
+ *
+ * As in BlogCache, a load only caches its result if no eviction happened while
+ * it ran, and evictions inside a transaction are repeated once it completes.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> byEmail;
+    private final Cache<String, User> byUid;
+    // Writes only know the email; this finds the uid entry to drop without scanning
+    private final Map<String, String> uidByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${app.user.cache.maxEntries:10000}") long maxEntries,
+                     @Value("${app.user.cache.ttlSeconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.byUid = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                // Runs atomically with size/TTL removal, so the index never outgrows the cache
+                .evictionListener((String uid, User user, RemovalCause cause) -> {
+                    if (user != null && user.getEmail() != null) uidByEmail.remove(user.getEmail(), uid);
+                })
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> findByEmail(String email) {
+        User cached = byEmail.getIfPresent(email);
+        if (cached != null) return Optional.of(cached);
+        long seen = generation.get();
+        Optional<User> loaded = userRepository.findByEmail(email);
+        loaded.ifPresent(user -> putEmail(email, user, seen));
+        return loaded;
+    }
+
+    public Optional<User> findByFirebaseUid(String firebaseUid) {
+        User cached = byUid.getIfPresent(firebaseUid);
+        if (cached != null) return Optional.of(cached);
+        long seen = generation.get();
+        Optional<User> loaded = userRepository.findByFirebaseUid(firebaseUid);
+        loaded.ifPresent(user -> putUid(firebaseUid, user, seen));
+        return loaded;
+    }
+
+    private synchronized void putEmail(String email, User user, long seen) {
+        if (generation.get() == seen) byEmail.put(email, user);
+    }
+
+    private synchronized void putUid(String firebaseUid, User user, long seen) {
+        if (generation.get() != seen || user.getEmail() == null) return;
+        byUid.put(firebaseUid, user);
+        uidByEmail.put(user.getEmail(), firebaseUid);
+    }
+
+    public void evict(String email) {
+        if (email == null) return;
+        invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(email);
+                }
+            });
+        }
+    }
+
+    private synchronized void invalidate(String email) {
+        generation.incrementAndGet();
+        byEmail.invalidate(email);
+        String uid = uidByEmail.remove(email);
+        if (uid != null) byUid.invalidate(uid);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = byEmail.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("entries", byEmail.estimatedSize());
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("evictions", s.evictionCount());
+        CacheStats u = byUid.stats();
+        m.put("uidEntries", byUid.estimatedSize());
+        m.put("uidHits", u.hitCount());
+        m.put("uidMisses", u.missCount());
+        return m;
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     public User saveUserIfNotExists(String firebaseUid,
                                     String email,
@@ -20,7 +21,7 @@ public class UserService {
                                     boolean emailVerified,
                                     String loginMethod) {
 
-        return userRepository.findByFirebaseUid(firebaseUid).orElseGet(() -> {
+        return userCache.findByFirebaseUid(firebaseUid).orElseGet(() -> {
             User user = User.builder()
                     .firebaseUid(firebaseUid)
                     .email(email)
@@ -41,7 +42,10 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
 
+    // Any user write (including role changes) must go through here or evict the cache itself
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.evict(saved.getEmail());
+        return saved;
     }
 }
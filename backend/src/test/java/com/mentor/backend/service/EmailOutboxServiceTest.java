@@ -0,0 +1,154 @@
+package com.mentor.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.mentor.backend.entity.EmailOutbox;
+import com.mentor.backend.repository.EmailOutboxRepository;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the outbox poller against a local stub of the Brevo endpoint, so delivery,
+ * retry and dead-lettering are exercised over real HTTP without network access.
+ */
+class EmailOutboxServiceTest {
+
+    private static final long WAIT_MILLIS = 5000;
+
+    private HttpServer brevo;
+    private final AtomicInteger status = new AtomicInteger(201);
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private EmailOutboxRepository repository;
+    private EmailOutboxService outbox;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        brevo = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        brevo.createContext("/v3/smtp/email", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "{\"messageId\":\"stub\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        brevo.start();
+
+        EmailService emailService = new EmailService(1000, 2000);
+        ReflectionTestUtils.setField(emailService, "brevoApiUrl",
+                "http://127.0.0.1:" + brevo.getAddress().getPort() + "/v3/smtp/email");
+        ReflectionTestUtils.setField(emailService, "brevoApiKey", "test-key");
+        ReflectionTestUtils.setField(emailService, "senderEmail", "noreply@example.com");
+        ReflectionTestUtils.setField(emailService, "senderName", "Test");
+
+        repository = mock(EmailOutboxRepository.class);
+        outbox = new EmailOutboxService(repository, emailService, mock(PlatformTransactionManager.class),
+                true, 2, 20, 3, 50, 120, 5, 3600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.shutdown();
+        brevo.stop(0);
+    }
+
+    @Test
+    void deliveredMessageIsDeleted() {
+        queue(message(1L, 0));
+
+        outbox.start();
+
+        verify(repository, timeout(WAIT_MILLIS)).deleteById(1L);
+        verify(repository, never()).markFailed(any(), anyString(), anyInt(), any(), any());
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void serverErrorIsRetriedWithBackoff() {
+        status.set(503);
+        queue(message(2L, 0));
+
+        outbox.start();
+
+        verify(repository, timeout(WAIT_MILLIS)).markFailed(eq(2L), eq(EmailOutbox.PENDING), eq(1),
+                any(LocalDateTime.class), anyString());
+        verify(repository, never()).deleteById(2L);
+    }
+
+    @Test
+    void serverErrorOnLastAttemptIsDeadLettered() {
+        status.set(500);
+        queue(message(3L, 2));
+
+        outbox.start();
+
+        verify(repository, timeout(WAIT_MILLIS)).markFailed(eq(3L), eq(EmailOutbox.DEAD), eq(3),
+                any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    void clientErrorIsDeadLetteredWithoutRetry() {
+        status.set(400);
+        queue(message(4L, 0));
+
+        outbox.start();
+
+        verify(repository, timeout(WAIT_MILLIS)).markFailed(eq(4L), eq(EmailOutbox.DEAD), eq(1),
+                any(LocalDateTime.class), anyString());
+        verify(repository, never()).markFailed(eq(4L), eq(EmailOutbox.PENDING), anyInt(), any(), any());
+    }
+
+    @Test
+    void rateLimitedIsRetried() {
+        status.set(429);
+        queue(message(5L, 0));
+
+        outbox.start();
+
+        verify(repository, timeout(WAIT_MILLIS)).markFailed(eq(5L), eq(EmailOutbox.PENDING), eq(1),
+                any(LocalDateTime.class), anyString());
+    }
+
+    // The message is claimed once; later polls find nothing due
+    private void queue(EmailOutbox message) {
+        when(repository.findDueForUpdate(any(), anyInt())).thenReturn(List.of(message)).thenReturn(List.of());
+    }
+
+    private static EmailOutbox message(Long id, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .toEmail("user" + id + "@example.com")
+                .subject("Your OTP Code")
+                .htmlContent("<p>123456</p>")
+                .status(EmailOutbox.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
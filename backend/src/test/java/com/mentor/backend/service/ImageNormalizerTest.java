@@ -0,0 +1,173 @@
+package com.mentor.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The pure helpers behind normalization: decode subsampling, EXIF orientation
+ * parsing and applying that orientation to pixels.
+ */
+class ImageNormalizerTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("exif-", ".jpg");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void subsamplingKeepsTheLongSideWithinTarget() {
+        assertThat(ImageNormalizer.subsampling(800, 600, 4096)).isEqualTo(1);
+        assertThat(ImageNormalizer.subsampling(4096, 3072, 4096)).isEqualTo(1);
+        assertThat(ImageNormalizer.subsampling(4097, 3072, 4096)).isEqualTo(2);
+        // 48 MP phone photo against the default maxDimension (2048): decoded at 4000x3000, not in full
+        assertThat(ImageNormalizer.subsampling(8000, 6000, 4096)).isEqualTo(2);
+        assertThat(ImageNormalizer.subsampling(6000, 8000, 4096)).isEqualTo(2);
+        assertThat(ImageNormalizer.subsampling(12289, 100, 4096)).isEqualTo(4);
+    }
+
+    @Test
+    void exifOrientationIsReadInBothByteOrders() throws IOException {
+        Files.write(file, jpegWithOrientation(6, false));
+        assertThat(ImageNormalizer.exifOrientation(file)).isEqualTo(6);
+
+        Files.write(file, jpegWithOrientation(8, true));
+        assertThat(ImageNormalizer.exifOrientation(file)).isEqualTo(8);
+    }
+
+    @Test
+    void exifOrientationDefaultsToOne() throws IOException {
+        // JPEG without an APP1 segment
+        Files.write(file, new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xDA, 0, 2});
+        assertThat(ImageNormalizer.exifOrientation(file)).isEqualTo(1);
+
+        // Not a JPEG at all
+        Files.write(file, new byte[] {(byte) 0x89, 'P', 'N', 'G'});
+        assertThat(ImageNormalizer.exifOrientation(file)).isEqualTo(1);
+
+        // Truncated inside the segment
+        byte[] jpeg = jpegWithOrientation(6, false);
+        Files.write(file, Arrays.copyOf(jpeg, 12));
+        assertThat(ImageNormalizer.exifOrientation(file)).isEqualTo(1);
+    }
+
+    @Test
+    void orientationOneAndUnknownValuesLeaveTheImageAlone() {
+        BufferedImage src = numbered(3, 2);
+        assertThat(ImageNormalizer.orient(src, 1)).isSameAs(src);
+        assertThat(ImageNormalizer.orient(src, 0)).isSameAs(src);
+        assertThat(ImageNormalizer.orient(src, 9)).isSameAs(src);
+    }
+
+    @Test
+    void orientMovesEveryPixel() {
+        BufferedImage src = numbered(3, 2);
+        int w = 3;
+        int h = 2;
+
+        BufferedImage mirrored = ImageNormalizer.orient(src, 2);
+        BufferedImage rotated180 = ImageNormalizer.orient(src, 3);
+        BufferedImage flipped = ImageNormalizer.orient(src, 4);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                assertThat(pixel(mirrored, x, y)).isEqualTo(pixel(src, w - 1 - x, y));
+                assertThat(pixel(rotated180, x, y)).isEqualTo(pixel(src, w - 1 - x, h - 1 - y));
+                assertThat(pixel(flipped, x, y)).isEqualTo(pixel(src, x, h - 1 - y));
+            }
+        }
+
+        BufferedImage transposed = ImageNormalizer.orient(src, 5);
+        BufferedImage clockwise = ImageNormalizer.orient(src, 6);
+        BufferedImage transverse = ImageNormalizer.orient(src, 7);
+        BufferedImage counterClockwise = ImageNormalizer.orient(src, 8);
+        for (BufferedImage swapped : new BufferedImage[] {transposed, clockwise, transverse, counterClockwise}) {
+            assertThat(swapped.getWidth()).isEqualTo(h);
+            assertThat(swapped.getHeight()).isEqualTo(w);
+        }
+        for (int y = 0; y < w; y++) {
+            for (int x = 0; x < h; x++) {
+                assertThat(pixel(transposed, x, y)).isEqualTo(pixel(src, y, x));
+                assertThat(pixel(clockwise, x, y)).isEqualTo(pixel(src, y, h - 1 - x));
+                assertThat(pixel(transverse, x, y)).isEqualTo(pixel(src, w - 1 - y, h - 1 - x));
+                assertThat(pixel(counterClockwise, x, y)).isEqualTo(pixel(src, w - 1 - y, x));
+            }
+        }
+    }
+
+    // Each pixel gets a distinct color, so a misplaced pixel is caught
+    private static BufferedImage numbered(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, 0x101010 * (y * width + x + 1));
+            }
+        }
+        return image;
+    }
+
+    private static int pixel(BufferedImage image, int x, int y) {
+        return image.getRGB(x, y) & 0xFFFFFF;
+    }
+
+    // SOI, an APP1 Exif segment whose IFD0 holds only the Orientation tag, then SOS
+    private static byte[] jpegWithOrientation(int orientation, boolean littleEndian) {
+        ByteArrayOutputStream tiff = new ByteArrayOutputStream();
+        tiff.writeBytes(littleEndian ? new byte[] {'I', 'I'} : new byte[] {'M', 'M'});
+        writeShort(tiff, 42, littleEndian);
+        writeInt(tiff, 8, littleEndian);        // IFD0 right after the header
+        writeShort(tiff, 1, littleEndian);      // one entry
+        writeShort(tiff, 0x0112, littleEndian); // Orientation
+        writeShort(tiff, 3, littleEndian);      // SHORT
+        writeInt(tiff, 1, littleEndian);
+        writeShort(tiff, orientation, littleEndian);
+        writeShort(tiff, 0, littleEndian);
+        writeInt(tiff, 0, littleEndian);        // no next IFD
+
+        ByteArrayOutputStream app1 = new ByteArrayOutputStream();
+        app1.writeBytes(new byte[] {'E', 'x', 'i', 'f', 0, 0});
+        app1.writeBytes(tiff.toByteArray());
+
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        jpeg.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1});
+        writeShort(jpeg, app1.size() + 2, false);
+        jpeg.writeBytes(app1.toByteArray());
+        jpeg.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xDA, 0, 2});
+        return jpeg.toByteArray();
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value, boolean littleEndian) {
+        if (littleEndian) {
+            out.write(value & 0xFF);
+            out.write(value >> 8 & 0xFF);
+        } else {
+            out.write(value >> 8 & 0xFF);
+            out.write(value & 0xFF);
+        }
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value, boolean littleEndian) {
+        if (littleEndian) {
+            writeShort(out, value & 0xFFFF, true);
+            writeShort(out, value >>> 16, true);
+        } else {
+            writeShort(out, value >>> 16, false);
+            writeShort(out, value & 0xFFFF, false);
+        }
+    }
+}
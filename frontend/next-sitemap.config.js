@@ -2,5 +2,9 @@ module.exports = {
   siteUrl: 'https://mentorkrish.in',
   generateRobotsTxt: true,
   sitemapSize: 7000,
+  // The blog and gallery pages come from the backend-generated sitemap
+  robotsTxtOptions: process.env.NEXT_PUBLIC_API_URL
+    ? { additionalSitemaps: [`${process.env.NEXT_PUBLIC_API_URL}/api/sitemap.xml`] }
+    : undefined,
   // add more options as needed
 }
@@ -50,9 +50,9 @@ export async function deleteAnnouncement(id) {
 
 
 
-// List blogs (optionally implement server-side pagination later)
+// List all blogs including drafts (admin only)
 export async function fetchBlogsAdmin() {
-  const res = await apiFetch('/api/blogs', { method: 'GET' });
+  const res = await apiFetch('/api/blogs/all', { method: 'GET' });
   if (!res.ok) throw new Error('Failed to fetch blogs');
   return res.json();
 }